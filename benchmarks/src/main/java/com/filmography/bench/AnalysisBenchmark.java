@@ -0,0 +1,45 @@
+package com.filmography.bench;
+
+import com.filmography.analysis.DataExplorer;
+import com.filmography.analysis.InsightGenerator;
+import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+import com.filmography.processing.DataCleaner;
+import com.filmography.processing.FeatureEngineer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class AnalysisBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int rows;
+
+    private FilmTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Film> films = BenchmarkData.films(rows);
+        new DataCleaner().clean(films);
+        table = FilmTable.of(films);
+        new FeatureEngineer().engineer(table);
+    }
+
+    @Benchmark
+    public Map<String, Object> summarizeAfter() {
+        return new DataExplorer().summarizeAfter(table);
+    }
+
+    @Benchmark
+    public Map<String, String> insights() {
+        return new InsightGenerator().generate(table);
+    }
+}
@@ -0,0 +1,65 @@
+package com.filmography.bench;
+
+import com.filmography.io.SyntheticFilmography;
+import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Seeded synthetic filmographies for the benchmarks, split evenly between Ajith and Vijay. */
+final class BenchmarkData {
+    static final long SEED = 42;
+
+    /** Tamil-script titles; their vowel signs are marks only the cleaner's Normalizer fallback handles. */
+    private static final String[] TAMIL_TITLES = {"வாலி", "அமர்க்களம்", "கில்லி", "துப்பாக்கி", "மங்காத்தா"};
+    private static final int TAMIL_TITLE_EVERY = 50;
+
+    private BenchmarkData() {
+    }
+
+    /** Raw films ordered by actor and year, like the ingested dataset. */
+    static List<Film> films(int rows) {
+        List<Film> films = new ArrayList<>(rows);
+        new SyntheticFilmography(SEED, 2, Math.max(1, rows / 2), 0)
+                .rows((actor, year, film, role, notes) -> films.add(new Film(actor, year, film, role, notes)));
+        return films;
+    }
+
+    /**
+     * Raw table ordered by actor and year, like the ingested dataset. Besides
+     * the generator's accents, daggers and footnote markers, every
+     * {@value #TAMIL_TITLE_EVERY}th title carries its name in Tamil script.
+     */
+    static FilmTable rawTable(int rows) {
+        FilmTable.Builder builder = new FilmTable.Builder(rows);
+        new SyntheticFilmography(SEED, 2, Math.max(1, rows / 2), 0).rows((actor, year, film, role, notes) -> {
+            int row = builder.size();
+            String title = row % TAMIL_TITLE_EVERY == 0
+                    ? film + " (" + TAMIL_TITLES[row / TAMIL_TITLE_EVERY % TAMIL_TITLES.length] + ")"
+                    : film;
+            builder.add(actor, year, title, role, notes);
+        });
+        return builder.build();
+    }
+
+    /** A single raw CSV for Ajith with {@code rows} films. */
+    static void writeCsv(Path path, int rows) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            new SyntheticFilmography(SEED, 1, rows, 0).writeCsv(0, out);
+        }
+    }
+
+    static List<Film> copy(List<Film> films) {
+        List<Film> copy = new ArrayList<>(films.size());
+        for (Film film : films) {
+            copy.add(new Film(film.getActor(), film.getYear(), film.getFilm(), film.getRole(), film.getNotes()));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,57 @@
+package com.filmography.bench;
+
+import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+import com.filmography.processing.DataCleaner;
+import com.filmography.processing.FeatureEngineer;
+import com.filmography.visualization.ChartGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** One chart of the processed set per run; {@code chart} takes the file names from {@link ChartGenerator#chartNames}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+public class ChartBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"movies_per_year.png", "career_timeline.png", "career_phase_distribution.png",
+            "age_vs_productivity.png", "age_career_comparison.png", "child_vs_lead.png",
+            "five_year_productivity.png", "decade_wise.png", "release_gap.png",
+            "career_phase_by_actor.png", "productivity_trend.png"})
+    public String chart;
+
+    private final ChartGenerator generator = new ChartGenerator();
+    private FilmTable table;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Film> films = BenchmarkData.films(rows);
+        new DataCleaner().clean(films);
+        table = FilmTable.of(films);
+        new FeatureEngineer().engineer(table);
+        output = Files.createTempFile("filmography-chart", ".png");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        generator.renderChart(table, true, chart, output.toString());
+        return Files.size(output);
+    }
+}
@@ -0,0 +1,74 @@
+package com.filmography.bench;
+
+import com.filmography.io.CsvReader;
+import com.filmography.io.CsvWriter;
+import com.filmography.io.MappedCsvReader;
+import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+import com.filmography.processing.DataCleaner;
+import com.filmography.processing.FeatureEngineer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class IoBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int rows;
+
+    private Path dir;
+    private Path input;
+    private Path output;
+    private FilmTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("filmography-bench");
+        input = dir.resolve("ajith.csv");
+        output = dir.resolve("cleaned_filmography.csv");
+        BenchmarkData.writeCsv(input, rows);
+
+        List<Film> films = BenchmarkData.films(rows);
+        new DataCleaner().clean(films);
+        table = FilmTable.of(films);
+        new FeatureEngineer().engineer(table);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public List<Film> csvRead() throws IOException {
+        return new CsvReader().read(input.toString(), "Ajith");
+    }
+
+    @Benchmark
+    public int csvStream() throws IOException {
+        return new CsvReader().stream(input.toString(), "Ajith", (actor, year, film, role, notes) -> { });
+    }
+
+    @Benchmark
+    public int mappedCsvStream() throws IOException {
+        return new MappedCsvReader().stream(input.toString(), "Ajith", (actor, year, film, role, notes) -> { });
+    }
+
+    @Benchmark
+    public long writeCleaned() throws IOException {
+        new CsvWriter().writeCleaned(output.toString(), table);
+        return Files.size(output);
+    }
+}
@@ -0,0 +1,71 @@
+package com.filmography.bench;
+
+import com.filmography.model.FilmTable;
+import com.filmography.processing.DataCleaner;
+import com.filmography.processing.FeatureEngineer;
+import com.filmography.processing.LazyFeatures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ProcessingBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int rows;
+
+    private FilmTable raw;
+    private FilmTable cleaned;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        raw = BenchmarkData.rawTable(rows);
+        cleaned = new DataCleaner().clean(raw);
+    }
+
+    /** Cleaning returns a copy-on-write view and leaves the raw table untouched, so every call starts from the same rows. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public FilmTable clean() {
+        return new DataCleaner().clean(raw);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public FilmTable engineer() {
+        new FeatureEngineer().engineer(cleaned);
+        return cleaned;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public FilmTable engineerParallel() {
+        new FeatureEngineer(ForkJoinPool.commonPool()).engineer(cleaned);
+        return cleaned;
+    }
+
+    /** Reads one feature through lazy features, on a fresh table view sharing the cleaned columns. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public long lazyReleaseGaps() {
+        FilmTable table = cleaned.mapText(UnaryOperator.identity(), UnaryOperator.identity(), UnaryOperator.identity());
+        LazyFeatures.attach(table);
+        long sum = 0;
+        for (int row = 0; row < table.size(); row++) {
+            sum += table.releaseGap(row);
+        }
+        return sum;
+    }
+}
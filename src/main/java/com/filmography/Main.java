@@ -1,20 +1,39 @@
 package com.filmography;
 
+import com.filmography.analysis.ActorStats;
 import com.filmography.analysis.DataExplorer;
+import com.filmography.analysis.FilmAggregates;
 import com.filmography.analysis.InsightGenerator;
+import com.filmography.analysis.QualityMetrics;
+import com.filmography.analysis.YearHistogram;
+import com.filmography.io.ActorMetadataFile;
+import com.filmography.io.ColumnarWriter;
 import com.filmography.io.CsvReader;
 import com.filmography.io.CsvWriter;
+import com.filmography.io.DirectoryIngest;
+import com.filmography.io.Fingerprint;
+import com.filmography.io.MappedCsvReader;
 import com.filmography.io.MarkdownWriter;
-import com.filmography.model.Film;
+import com.filmography.io.ResultCache;
+import com.filmography.io.RowInterner;
+import com.filmography.model.ActorMetadata;
+import com.filmography.model.ActorMetadataSource;
+import com.filmography.model.ActorMetadataStore;
+import com.filmography.model.FilmTable;
+import com.filmography.pipeline.ActorReports;
+import com.filmography.pipeline.Metrics;
+import com.filmography.pipeline.Pipeline;
 import com.filmography.processing.DataCleaner;
 import com.filmography.processing.FeatureEngineer;
+import com.filmography.processing.IncrementalFeatureEngineer;
+import com.filmography.processing.YearKernels;
 import com.filmography.visualization.ChartGenerator;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
     public static void main(String[] args) throws Exception {
@@ -34,85 +53,243 @@ public class Main {
         new File(chartsBeforeDir).mkdirs();
         new File(chartsAfterDir).mkdirs();
         
-        // Input files
-        String ajithPath = rawDataDir + "/ajith.csv";
-        String vijayPath = rawDataDir + "/vijay.csv";
-
-        CsvReader reader = new CsvReader();
-        List<Film> films = new ArrayList<>();
-        films.addAll(reader.read(ajithPath, "Ajith"));
-        films.addAll(reader.read(vijayPath, "Vijay"));
-        films.sort(Comparator.comparing(Film::getActor).thenComparing(Film::getYear));
+        // --actors <file>: actor metadata from a CSV or binary file instead of
+        // the built-in actors
+        List<String> options = List.of(args);
+        int actorsOption = options.indexOf("--actors");
+        File metadataFile = null;
+        if (actorsOption >= 0) {
+            if (actorsOption + 1 == args.length) {
+                throw new IllegalArgumentException("--actors needs a metadata file");
+            }
+            metadataFile = new File(args[actorsOption + 1]).getAbsoluteFile();
+            ActorMetadata.use(ActorMetadataFile.read(metadataFile.getPath()));
+        }
 
-        List<Film> rawFilms = cloneFilms(films);
+        // Stage results are cached under .cache, keyed by the raw inputs,
+        // actor metadata and the bytecode of each stage
+        ResultCache cache = new ResultCache(new File(".cache").getAbsolutePath());
+        Fingerprint rawFingerprint = new Fingerprint().addDirectory(rawDataDir);
+        if (metadataFile != null) {
+            rawFingerprint.addFile(metadataFile);
+        }
+        String rawKey = rawFingerprint
+                .addClasses(ActorMetadata.class, ActorMetadataSource.class, ActorMetadataStore.class,
+                        ActorMetadataFile.class, FilmTable.class, DirectoryIngest.class, CsvReader.class,
+                        MappedCsvReader.class, RowInterner.class)
+                .hex();
+        // The processed table's code alone; its latest entry seeds the next
+        // run when data/raw only grew
+        String engineerLineage = new Fingerprint()
+                .addClasses(DataCleaner.class, FeatureEngineer.class, YearKernels.class, IncrementalFeatureEngineer.class)
+                .hex();
+        String processedKey = new Fingerprint().add(rawKey).add(engineerLineage).hex();
 
+        // --mapped-csv: parse data/raw from memory-mapped bytes; rows match
+        // the default opencsv reader, so both share the cached raw table
+        DirectoryIngest ingest = options.contains("--mapped-csv")
+                ? new DirectoryIngest(new MappedCsvReader(), Runtime.getRuntime().availableProcessors())
+                : new DirectoryIngest();
         DataExplorer explorer = new DataExplorer();
-        Map<String, Object> beforeStats = explorer.summarizeBefore(rawFilms);
+        ChartGenerator chartGenerator = new ChartGenerator(Runtime.getRuntime().availableProcessors());
+        InsightGenerator insightGenerator = new InsightGenerator();
+        MarkdownWriter markdownWriter = new MarkdownWriter();
 
-        ChartGenerator chartGenerator = new ChartGenerator();
-        chartGenerator.generateBefore(rawFilms, chartsBeforeDir);
+        // Stages run as soon as the artifacts they read are ready; each one is
+        // measured, and clean and engineer are measured separately inside theirs
+        Metrics metrics = new Metrics();
+        Pipeline pipeline = new Pipeline(metrics);
 
-        InsightGenerator insightGenerator = new InsightGenerator();
-        Map<String, String> beforeInsights = insightGenerator.generate(rawFilms);
+        // Every data/raw/*.csv, sorted by actor and year
+        pipeline.stage("ingest", List.of(), List.of("rawTable"), a -> {
+            FilmTable rawTable = cache.table("raw", rawKey, () -> ingest.ingest(rawDataDir));
+            a.span().rowsOut(rawTable.size()).bytesRead(directoryBytes(rawDataDir));
+            a.put("rawTable", rawTable);
+        });
 
-        MarkdownWriter markdownWriter = new MarkdownWriter();
-        markdownWriter.writeBefore(
-            reportsDir + "/before_analysis.md",
-            beforeStats,
-            rawFilms.subList(0, Math.min(10, rawFilms.size())),
-            List.of(
-                "movies_per_year.png",
-                "career_timeline.png",
-                "age_vs_productivity.png",
-                "child_vs_lead.png",
-                "five_year_productivity.png",
-                "decade_wise.png"
-            ),
-            beforeInsights
-        );
-
-        DataCleaner cleaner = new DataCleaner();
-        cleaner.clean(films);
-
-        FeatureEngineer engineer = new FeatureEngineer();
-        engineer.engineer(films);
-
-        Map<String, Object> afterStats = explorer.summarizeAfter(films);
-        chartGenerator.generateAfter(films, chartsAfterDir);
-        Map<String, String> afterInsights = insightGenerator.generate(films);
-
-        markdownWriter.writeAfter(
-            reportsDir + "/after_analysis.md",
-            afterStats,
-            films.subList(0, Math.min(10, films.size())),
-            List.of(
-                "movies_per_year.png",
-                "career_timeline.png",
-                "career_phase_distribution.png",
-                "age_vs_productivity.png",
-                "age_career_comparison.png",
-                "child_vs_lead.png",
-                "five_year_productivity.png",
-                "decade_wise.png",
-                "release_gap.png"
-            ),
-            afterInsights
-        );
-
-        CsvWriter writer = new CsvWriter();
-        writer.writeCleaned(processedDataDir + "/cleaned_filmography.csv", films);
+        pipeline.stage("before/stats", List.of("rawTable"), List.of("beforeStats"), a -> {
+            FilmTable rawTable = a.get("rawTable");
+            Map<String, Object> stats = cache.map("before/stats",
+                    stageKey(rawKey, DataExplorer.class, QualityMetrics.class, YearHistogram.class, ActorStats.class),
+                    () -> explorer.summarizeBefore(rawTable));
+            a.span().rowsIn(rawTable.size()).rowsOut(stats.size());
+            a.put("beforeStats", stats);
+        });
+
+        pipeline.stage("before/charts", List.of("rawTable"), List.of("beforeCharts"), a -> {
+            FilmTable rawTable = a.get("rawTable");
+            cache.files("before/charts", stageKey(rawKey, ChartGenerator.class, YearHistogram.class), chartsBeforeDir,
+                    dir -> chartGenerator.generateBefore(rawTable, dir, "before"));
+            a.span().rowsIn(rawTable.size()).bytesWritten(directoryBytes(chartsBeforeDir));
+            a.put("beforeCharts", chartsBeforeDir);
+        });
+
+        pipeline.stage("before/insights", List.of("rawTable"), List.of("beforeInsights"), a -> {
+            FilmTable rawTable = a.get("rawTable");
+            Map<String, String> insights = cache.map("before/insights",
+                    stageKey(rawKey, InsightGenerator.class, FilmAggregates.class, YearHistogram.class, ActorStats.class),
+                    () -> insightGenerator.generate(rawTable));
+            a.span().rowsIn(rawTable.size()).rowsOut(insights.size());
+            a.put("beforeInsights", insights);
+        });
+
+        pipeline.stage("before/report", List.of("rawTable", "beforeStats", "beforeInsights"), List.of("beforeReport"), a -> {
+            FilmTable rawTable = a.get("rawTable");
+            String path = reportsDir + "/before_analysis.md";
+            markdownWriter.writeBefore(
+                path,
+                ActorMetadata.actorsIn(rawTable),
+                a.get("beforeStats"),
+                rawTable.slice(0, Math.min(10, rawTable.size())),
+                MarkdownWriter.BEFORE_CHARTS,
+                a.get("beforeInsights")
+            );
+            a.span().bytesWritten(new File(path).length());
+            a.put("beforeReport", path);
+        });
+
+        pipeline.stage("clean+engineer", List.of("rawTable"), List.of("table"), a -> {
+            FilmTable rawTable = a.get("rawTable");
+            FilmTable table = cache.table("processed", processedKey, engineerLineage, () -> {
+                FilmTable previous = cache.latest("processed", engineerLineage);
+                FilmTable processed;
+                try (Metrics.Span span = metrics.start("clean")) {
+                    processed = new DataCleaner().clean(rawTable);
+                    span.rowsIn(rawTable.size()).rowsOut(processed.size());
+                }
+                try (Metrics.Span span = metrics.start("engineer")) {
+                    // Rows only appended since the previous run: reuse its
+                    // features and recompute from each actor's first new film
+                    int engineered = previous == null ? -1 : new IncrementalFeatureEngineer().engineer(previous, processed);
+                    if (engineered < 0) {
+                        new FeatureEngineer(ForkJoinPool.commonPool()).engineer(processed);
+                        engineered = processed.size();
+                    }
+                    span.rowsIn(engineered).rowsOut(processed.size());
+                }
+                return processed;
+            });
+            a.span().rowsIn(rawTable.size()).rowsOut(table.size());
+            a.put("table", table);
+        });
+
+        pipeline.stage("after/stats", List.of("table"), List.of("afterStats"), a -> {
+            FilmTable table = a.get("table");
+            Map<String, Object> stats = cache.map("after/stats",
+                    stageKey(processedKey, DataExplorer.class, YearHistogram.class, ActorStats.class),
+                    () -> explorer.summarizeAfter(table));
+            a.span().rowsIn(table.size()).rowsOut(stats.size());
+            a.put("afterStats", stats);
+        });
+
+        pipeline.stage("after/charts", List.of("table"), List.of("afterCharts"), a -> {
+            FilmTable table = a.get("table");
+            cache.files("after/charts", stageKey(processedKey, ChartGenerator.class, YearHistogram.class), chartsAfterDir,
+                    dir -> chartGenerator.generateAfter(table, dir, "after"));
+            a.span().rowsIn(table.size()).bytesWritten(directoryBytes(chartsAfterDir));
+            a.put("afterCharts", chartsAfterDir);
+        });
+
+        pipeline.stage("after/insights", List.of("table"), List.of("afterInsights"), a -> {
+            FilmTable table = a.get("table");
+            Map<String, String> insights = cache.map("after/insights",
+                    stageKey(processedKey, InsightGenerator.class, FilmAggregates.class, YearHistogram.class, ActorStats.class),
+                    () -> insightGenerator.generate(table));
+            a.span().rowsIn(table.size()).rowsOut(insights.size());
+            a.put("afterInsights", insights);
+        });
+
+        pipeline.stage("after/report", List.of("table", "afterStats", "afterInsights"), List.of("afterReport"), a -> {
+            FilmTable table = a.get("table");
+            String path = reportsDir + "/after_analysis.md";
+            markdownWriter.writeAfter(
+                path,
+                ActorMetadata.actorsIn(table),
+                a.get("afterStats"),
+                table.slice(0, Math.min(10, table.size())),
+                MarkdownWriter.AFTER_CHARTS,
+                a.get("afterInsights")
+            );
+            a.span().bytesWritten(new File(path).length());
+            a.put("afterReport", path);
+        });
+
+        pipeline.stage("export", List.of("table"), List.of("cleanedCsv", "cleanedColumnar"), a -> {
+            FilmTable table = a.get("table");
+            String csv = processedDataDir + "/cleaned_filmography.csv";
+            String columnar = processedDataDir + "/cleaned_filmography.fcol";
+            new CsvWriter().writeCleaned(csv, table);
+            new ColumnarWriter().write(columnar, table);
+            a.span().rowsIn(table.size()).rowsOut(table.size())
+                    .bytesWritten(new File(csv).length() + new File(columnar).length());
+            a.put("cleanedCsv", csv);
+            a.put("cleanedColumnar", columnar);
+        });
+
+        // --per-actor: a report and chart set per actor under docs/actors/,
+        // resuming from docs/actors/completed.tsv after an interrupted run
+        boolean perActor = options.contains("--per-actor");
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (perActor) {
+            String actorsDir = new File("docs/actors").getAbsolutePath();
+            String actorsKey = new Fingerprint().add(processedKey)
+                    .addClasses(ActorReports.class, DataExplorer.class, QualityMetrics.class, InsightGenerator.class,
+                            FilmAggregates.class, YearHistogram.class, ActorStats.class, ChartGenerator.class,
+                            MarkdownWriter.class)
+                    .addResources(MarkdownWriter.TEMPLATES)
+                    .hex();
+            pipeline.stage("actors", List.of("rawTable", "table"), List.of("actorReports"), a -> {
+                FilmTable rawTable = a.get("rawTable");
+                FilmTable table = a.get("table");
+                ActorReports.Summary summary = new ActorReports(actorsDir, threads, threads * 2)
+                        .run(ActorMetadata.actors(), rawTable, table, actorsKey);
+                a.span().rowsIn(rawTable.size() + table.size()).rowsOut(summary.getGenerated());
+                a.put("actorReports", summary);
+            });
+        }
+
+        pipeline.run(threads);
+        String metricsPath = processedDataDir + "/pipeline_metrics.json";
+        metrics.writeJson(metricsPath);
 
         System.out.println("✓ Analysis complete!");
         System.out.println("  Data:    data/raw/ (input), data/processed/ (output)");
         System.out.println("  Reports: docs/reports/");
         System.out.println("  Charts:  docs/charts/before/, docs/charts/after/");
+        if (perActor) {
+            ActorReports.Summary summary = pipeline.get("actorReports");
+            System.out.println("  Actors:  docs/actors/ (" + summary.getGenerated() + " written, "
+                    + summary.getSkipped() + " already complete, " + summary.getMissing() + " without films)");
+        }
+        System.out.println();
+        System.out.println("Chart render times:");
+        System.out.print(chartGenerator.timingReport());
+        System.out.println();
+        System.out.println("Ingest dictionaries:");
+        System.out.print(ingest.interner().report());
+        System.out.println();
+        System.out.println("Result cache:");
+        System.out.print(cache.report());
+        System.out.println();
+        System.out.println("Pipeline stages (start, elapsed, thread):");
+        System.out.print(pipeline.timingReport());
+        System.out.println();
+        System.out.println("Stage metrics (including worker threads; also in data/processed/pipeline_metrics.json):");
+        System.out.print(metrics.summaryTable());
     }
 
-    private static List<Film> cloneFilms(List<Film> films) {
-        List<Film> copy = new ArrayList<>();
-        for (Film film : films) {
-            copy.add(new Film(film.getActor(), film.getYear(), film.getFilm(), film.getRole(), film.getNotes()));
+    private static long directoryBytes(String directory) {
+        File[] files = new File(directory).listFiles(File::isFile);
+        long bytes = 0;
+        if (files != null) {
+            for (File file : files) {
+                bytes += file.length();
+            }
         }
-        return copy;
+        return bytes;
+    }
+
+    private static String stageKey(String upstreamKey, Class<?>... code) throws IOException {
+        return new Fingerprint().add(upstreamKey).addClasses(code).hex();
     }
 }
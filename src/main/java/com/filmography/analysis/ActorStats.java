@@ -0,0 +1,95 @@
+package com.filmography.analysis;
+
+/**
+ * Career summary for one actor: film count, first, last and peak year and the
+ * number of distinct years with a release. All actors are summarized in one
+ * pass over the {@link YearHistogram}, each over only their own career years,
+ * so the cost grows with the actors' career lengths rather than with rows or
+ * with actors times the table's whole year range.
+ */
+public final class ActorStats {
+    private final int actor;
+    private final long films;
+    private final int debutYear;
+    private final int lastYear;
+    private final int peakYear;
+    private final int peakCount;
+    private final int activeYears;
+
+    private ActorStats(int actor, long films, int debutYear, int lastYear, int peakYear, int peakCount, int activeYears) {
+        this.actor = actor;
+        this.films = films;
+        this.debutYear = debutYear;
+        this.lastYear = lastYear;
+        this.peakYear = peakYear;
+        this.peakCount = peakCount;
+        this.activeYears = activeYears;
+    }
+
+    /** Stats for every actor in the histogram, indexed by actor code. */
+    public static ActorStats[] of(YearHistogram years) {
+        ActorStats[] stats = new ActorStats[years.actorCount()];
+        for (int actor = 0; actor < stats.length; actor++) {
+            int first = years.actorFirstYear(actor);
+            int span = years.actorSpan(actor);
+            int debut = 0;
+            int latest = 0;
+            int peak = years.firstYear();
+            int peakCount = 0;
+            int active = 0;
+            long films = 0;
+            for (int index = 0; index < span; index++) {
+                int count = years.countAt(actor, index);
+                if (count == 0) continue;
+                int year = first + index;
+                if (active == 0) debut = year;
+                latest = year;
+                active++;
+                films += count;
+                if (count > peakCount) {
+                    peak = year;
+                    peakCount = count;
+                }
+            }
+            stats[actor] = new ActorStats(actor, films, debut, latest, peak, peakCount, active);
+        }
+        return stats;
+    }
+
+    public int getActor() {
+        return actor;
+    }
+
+    public long getFilms() {
+        return films;
+    }
+
+    /** First year with a film, or 0 if the actor has none. */
+    public int getDebutYear() {
+        return debutYear;
+    }
+
+    /** Last year with a film, or 0 if the actor has none. */
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /** Earliest year with the highest film count. */
+    public int getPeakYear() {
+        return peakYear;
+    }
+
+    public int getPeakCount() {
+        return peakCount;
+    }
+
+    /** Years from debut to the latest film. */
+    public int getSpan() {
+        return films == 0 ? 0 : lastYear - debutYear;
+    }
+
+    /** Distinct years with at least one film. */
+    public int getActiveYears() {
+        return activeYears;
+    }
+}
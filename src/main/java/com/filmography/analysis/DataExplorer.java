@@ -2,121 +2,105 @@ package com.filmography.analysis;
 
 import com.filmography.model.ActorMetadata;
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class DataExplorer {
-    private static final Pattern FOOTNOTE = Pattern.compile("\\[[a-z]\\]");
-
     public Map<String, Object> summarizeBefore(List<Film> films) {
+        return summarizeBefore(FilmTable.of(films));
+    }
+
+    public Map<String, Object> summarizeBefore(FilmTable table) {
         Map<String, Object> stats = new LinkedHashMap<>();
-        int total = films.size();
+        int total = table.size();
 
         stats.put("Shape (Rows x Columns)", total + " x 5");
 
-        Map<String, Long> actorCounts = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor, Collectors.counting()));
-        for (Map.Entry<String, Long> e : actorCounts.entrySet()) {
+        for (Map.Entry<String, Long> e : actorCounts(table).entrySet()) {
             stats.put(e.getKey() + " Films", e.getValue());
         }
 
-        int minYear = films.stream().mapToInt(Film::getYear).min().orElse(0);
-        int maxYear = films.stream().mapToInt(Film::getYear).max().orElse(0);
-        stats.put("Year Range", minYear + " - " + maxYear);
-
-        int nullFilm = 0, nullRole = 0, nullNotes = 0;
-        int footnotes = 0;
-        int childRoles = 0;
-
-        for (Film film : films) {
-            if (film.getFilm() == null || film.getFilm().isEmpty()) nullFilm++;
-            if (film.getRole() == null || film.getRole().isEmpty()) nullRole++;
-            if (film.getNotes() == null || film.getNotes().isEmpty()) nullNotes++;
-            if (film.getRole() != null && FOOTNOTE.matcher(film.getRole()).find()) footnotes++;
-            if (film.getNotes() != null && film.getNotes().toLowerCase().contains("child")) childRoles++;
-        }
-
-        stats.put("Null/Empty in Film", nullFilm);
-        stats.put("Null/Empty in Role", nullRole);
-        stats.put("Null/Empty in Notes", nullNotes);
-        stats.put("Total Null Values", nullFilm + nullRole + nullNotes);
-        stats.put("Footnote Annotations [a-z]", footnotes);
-        stats.put("Child Actor Roles", childRoles);
+        stats.put("Year Range", minYear(table) + " - " + maxYear(table));
 
-        long duplicates = total - films.stream().map(f -> f.getActor() + "|" + f.getYear() + "|" + f.getFilm()).distinct().count();
-        stats.put("Duplicate Rows", duplicates);
+        QualityMetrics quality = QualityMetrics.of(table);
+        stats.put("Null/Empty in Film", quality.getNullFilm());
+        stats.put("Null/Empty in Role", quality.getNullRole());
+        stats.put("Null/Empty in Notes", quality.getNullNotes());
+        stats.put("Total Null Values", quality.getTotalNulls());
+        stats.put("Footnote Annotations [a-z]", quality.getFootnotes());
+        stats.put("Child Actor Roles", quality.getChildRoles());
+        stats.put("Duplicate Rows", quality.getDuplicates());
 
         return stats;
     }
 
     public Map<String, Object> summarizeAfter(List<Film> films) {
+        return summarizeAfter(FilmTable.of(films));
+    }
+
+    public Map<String, Object> summarizeAfter(FilmTable table) {
         Map<String, Object> stats = new LinkedHashMap<>();
-        int total = films.size();
+        int total = table.size();
 
         stats.put("Shape (Rows x Columns)", total + " x 18");
 
-        Map<String, Long> actorCounts = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor, Collectors.counting()));
+        YearHistogram years = YearHistogram.of(table);
+        ActorStats[] actorStats = ActorStats.of(years);
+        Map<String, Long> actorCounts = new HashMap<>();
+        for (ActorStats actor : actorStats) {
+            actorCounts.put(table.actorName(actor.getActor()), actor.getFilms());
+        }
         for (Map.Entry<String, Long> e : actorCounts.entrySet()) {
             stats.put(e.getKey() + " Films", e.getValue());
         }
 
-        int minYear = films.stream().mapToInt(Film::getYear).min().orElse(0);
-        int maxYear = films.stream().mapToInt(Film::getYear).max().orElse(0);
-        stats.put("Year Range", minYear + " - " + maxYear);
+        stats.put("Year Range", years.firstYear() + " - " + years.lastYear());
 
         int nullDebutYear = 0, nullCareerPhase = 0, nullAgeAtFilm = 0;
-        for (Film film : films) {
-            if (film.getDebutYear() == null) nullDebutYear++;
-            if (film.getCareerPhase() == null) nullCareerPhase++;
-            if (film.getAgeAtFilm() == null) nullAgeAtFilm++;
+        long childRoles = 0, specialFilms = 0, upcoming = 0, highProd = 0;
+        long[] phaseCounts = new long[FilmTable.PHASES.length];
+        for (int row = 0; row < total; row++) {
+            if (table.debutYear(row) == FilmTable.NULL) nullDebutYear++;
+            if (table.phaseCode(row) < 0) nullCareerPhase++;
+            else phaseCounts[table.phaseCode(row)]++;
+            if (table.ageAtFilm(row) == FilmTable.NULL) nullAgeAtFilm++;
+            if (table.isChildRole(row)) childRoles++;
+            if (table.isSpecial(row)) specialFilms++;
+            if (table.isUpcoming(row)) upcoming++;
+            if (table.isHighProductivity(row)) highProd++;
         }
         stats.put("Null Debut_Year", nullDebutYear);
         stats.put("Null Career_Phase", nullCareerPhase);
         stats.put("Null Age_At_Film", nullAgeAtFilm);
 
-        long childRoles = films.stream().filter(f -> Boolean.TRUE.equals(f.getIsChildRole())).count();
         stats.put("Child Actor Roles", childRoles);
-
-        long specialFilms = films.stream().filter(f -> Boolean.TRUE.equals(f.getIsSpecial())).count();
         stats.put("Special Films (Cameo/Debut/etc)", specialFilms);
-
-        long upcoming = films.stream().filter(f -> Boolean.TRUE.equals(f.getIsUpcoming())).count();
         stats.put("Upcoming Films (2025+)", upcoming);
-
-        long highProd = films.stream().filter(f -> Boolean.TRUE.equals(f.getHighProductivity())).count();
         stats.put("High Productivity Film-Years", highProd);
 
-        Map<String, Long> phases = films.stream()
-                .filter(f -> f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getCareerPhase, Collectors.counting()));
+        Map<String, Long> phases = new HashMap<>();
+        for (int phase = 0; phase < phaseCounts.length; phase++) {
+            if (phaseCounts[phase] > 0) {
+                phases.put(FilmTable.PHASES[phase], phaseCounts[phase]);
+            }
+        }
         for (Map.Entry<String, Long> e : phases.entrySet()) {
             stats.put("Phase: " + e.getKey(), e.getValue());
         }
 
         for (String actor : actorCounts.keySet()) {
+            ActorStats career = actorStats[table.actorCode(actor)];
             int birthYear = ActorMetadata.getBirthYear(actor);
-            int debutYear = films.stream()
-                    .filter(f -> f.getActor().equals(actor))
-                    .mapToInt(Film::getYear)
-                    .min().orElse(0);
+            int debutYear = career.getDebutYear();
             stats.put(actor + " Debut Year", debutYear);
             stats.put(actor + " Debut Age", debutYear - birthYear);
             stats.put(actor + " Current Age", ActorMetadata.getCurrentAge(actor));
             stats.put(actor + " Career Span (years)", ActorMetadata.CURRENT_YEAR - debutYear);
-
-            Map<Integer, Long> byYear = films.stream()
-                    .filter(f -> f.getActor().equals(actor))
-                    .collect(Collectors.groupingBy(Film::getYear, Collectors.counting()));
-            int peakYear = byYear.entrySet().stream()
-                    .max(java.util.Map.Entry.comparingByValue())
-                    .map(java.util.Map.Entry::getKey).orElse(0);
-            long peakCount = byYear.getOrDefault(peakYear, 0L);
-            stats.put(actor + " Peak Year", peakYear + " (" + peakCount + " films)");
+            stats.put(actor + " Peak Year", career.getPeakYear() + " (" + career.getPeakCount() + " films)");
         }
 
         return stats;
@@ -125,4 +109,32 @@ public class DataExplorer {
     public Map<String, Object> summarize(List<Film> films) {
         return summarizeBefore(films);
     }
+
+    private Map<String, Long> actorCounts(FilmTable table) {
+        long[] counts = new long[table.actorCount()];
+        for (int row = 0; row < table.size(); row++) {
+            counts[table.actorCode(row)]++;
+        }
+        Map<String, Long> actorCounts = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            actorCounts.put(table.actorName(code), counts[code]);
+        }
+        return actorCounts;
+    }
+
+    private int minYear(FilmTable table) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < table.size(); row++) {
+            min = Math.min(min, table.year(row));
+        }
+        return table.size() == 0 ? 0 : min;
+    }
+
+    private int maxYear(FilmTable table) {
+        int max = Integer.MIN_VALUE;
+        for (int row = 0; row < table.size(); row++) {
+            max = Math.max(max, table.year(row));
+        }
+        return table.size() == 0 ? 0 : max;
+    }
 }
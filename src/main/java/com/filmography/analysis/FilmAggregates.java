@@ -0,0 +1,161 @@
+package com.filmography.analysis;
+
+import com.filmography.model.FilmTable;
+
+import java.util.Arrays;
+
+/**
+ * Group-by counts for a {@link FilmTable} computed in a single scan: films per
+ * actor, career phase counts, age bracket counts and child-role notes. Per-year
+ * counts, five-year periods, decades and release gaps come from the shared
+ * {@link YearHistogram}, so consumers never need to revisit the rows.
+ */
+public final class FilmAggregates {
+    public static final String[] AGE_BRACKETS = {"10-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50+"};
+
+    private final FilmTable table;
+    private final YearHistogram years;
+    private final ActorStats[] stats;
+    private final long[] filmCounts;
+    private final long[] childNoteCounts;
+    private final long[][] phaseCounts;
+    private final long[][] ageBracketCounts;
+
+    private FilmAggregates(FilmTable table, YearHistogram years) {
+        int actors = table.actorCount();
+        this.table = table;
+        this.years = years;
+        this.stats = ActorStats.of(years);
+        this.filmCounts = new long[actors];
+        this.childNoteCounts = new long[actors];
+        this.phaseCounts = new long[actors][];
+        this.ageBracketCounts = new long[actors][];
+    }
+
+    public static FilmAggregates of(FilmTable table) {
+        return of(table, YearHistogram.of(table));
+    }
+
+    public static FilmAggregates of(FilmTable table, YearHistogram years) {
+        FilmAggregates aggregates = new FilmAggregates(table, years);
+        for (int row = 0; row < table.size(); row++) {
+            aggregates.accumulate(row);
+        }
+        return aggregates;
+    }
+
+    private void accumulate(int row) {
+        int actor = table.actorCode(row);
+        filmCounts[actor]++;
+
+        String notes = table.notes(row);
+        if (notes != null && notes.toLowerCase().contains("child")) {
+            childNoteCounts[actor]++;
+        }
+
+        int phase = table.phaseCode(row);
+        if (phase >= 0) {
+            if (phaseCounts[actor] == null) {
+                phaseCounts[actor] = new long[FilmTable.PHASES.length];
+            }
+            phaseCounts[actor][phase]++;
+        }
+
+        int age = table.ageAtFilm(row);
+        if (age != FilmTable.NULL && age > 0) {
+            if (ageBracketCounts[actor] == null) {
+                ageBracketCounts[actor] = new long[AGE_BRACKETS.length];
+            }
+            ageBracketCounts[actor][ageBracket(age)]++;
+        }
+    }
+
+    public static int ageBracket(int age) {
+        if (age < 20) return 0;
+        if (age >= 50) return AGE_BRACKETS.length - 1;
+        return (age - 15) / 5;
+    }
+
+    public FilmTable table() {
+        return table;
+    }
+
+    public YearHistogram years() {
+        return years;
+    }
+
+    /** Codes of actors with at least one film, ordered by actor name. */
+    public int[] actors() {
+        int[] byName = table.actorCodesByName();
+        int count = 0;
+        for (int actor : byName) {
+            if (filmCounts[actor] > 0) {
+                byName[count++] = actor;
+            }
+        }
+        return Arrays.copyOf(byName, count);
+    }
+
+    public String actorName(int actor) {
+        return table.actorName(actor);
+    }
+
+    public long filmCount(int actor) {
+        return filmCounts[actor];
+    }
+
+    public long childNoteCount(int actor) {
+        return childNoteCounts[actor];
+    }
+
+    public ActorStats stats(int actor) {
+        return stats[actor];
+    }
+
+    public int yearCount(int actor, int year) {
+        return years.count(actor, year);
+    }
+
+    /** First year with a film for the actor, or 0 if the actor has none. */
+    public int debutYear(int actor) {
+        return stats[actor].getDebutYear();
+    }
+
+    public int lastYear(int actor) {
+        return stats[actor].getLastYear();
+    }
+
+    /** Earliest year with the highest film count for the actor. */
+    public int peakYear(int actor) {
+        return stats[actor].getPeakYear();
+    }
+
+    /**
+     * Longest gap between consecutive release years as {@code {gap, yearBeforeGap}};
+     * ties resolve to the earliest gap.
+     */
+    public int[] longestGap(int actor) {
+        int maxGap = 0;
+        int maxGapYear = 0;
+        int previous = Integer.MIN_VALUE;
+        for (int year = years.firstYear(); year <= years.lastYear(); year++) {
+            if (years.count(actor, year) == 0) continue;
+            if (previous != Integer.MIN_VALUE && year - previous > maxGap) {
+                maxGap = year - previous;
+                maxGapYear = previous;
+            }
+            previous = year;
+        }
+        return new int[]{maxGap, maxGapYear};
+    }
+
+    /** Phase counts indexed like {@link FilmTable#PHASES}, or null if the actor has none. */
+    public long[] phaseCounts(int actor) {
+        return phaseCounts[actor];
+    }
+
+    /** Age bracket counts indexed like {@link #AGE_BRACKETS}, or null if the actor has none. */
+    public long[] ageBracketCounts(int actor) {
+        return ageBracketCounts[actor];
+    }
+}
@@ -2,102 +2,88 @@ package com.filmography.analysis;
 
 import com.filmography.model.ActorMetadata;
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.function.IntPredicate;
 
 public class InsightGenerator {
 
     public Map<String, String> generate(List<Film> films) {
+        return generate(FilmTable.of(films));
+    }
+
+    public Map<String, String> generate(FilmTable films) {
+        return generate(FilmAggregates.of(films));
+    }
+
+    public Map<String, String> generate(FilmAggregates aggregates) {
         Map<String, String> insights = new HashMap<>();
-        insights.put("movies_per_year.png", moviesPerYearInsight(films));
-        insights.put("career_timeline.png", careerTimelineInsight(films));
-        insights.put("career_phase_distribution.png", careerPhaseInsight(films));
-        insights.put("career_phase_ajith.png", careerPhaseAjithInsight(films));
-        insights.put("career_phase_vijay.png", careerPhaseVijayInsight(films));
-        insights.put("age_vs_productivity.png", ageVsProductivityInsight(films));
-        insights.put("age_career_comparison.png", ageCareerInsight(films));
-        insights.put("child_vs_lead.png", childVsLeadInsight(films));
-        insights.put("five_year_productivity.png", fiveYearInsight(films));
-        insights.put("decade_wise.png", decadeWiseInsight(films));
-        insights.put("release_gap.png", releaseGapInsight(films));
-        insights.put("career_phase_by_actor.png", careerPhaseByActorInsight(films));
-        insights.put("productivity_trend.png", productivityTrendInsight(films));
+        insights.put("movies_per_year.png", moviesPerYearInsight(aggregates));
+        insights.put("career_timeline.png", careerTimelineInsight(aggregates));
+        insights.put("career_phase_distribution.png", careerPhaseInsight(aggregates));
+        insights.put("career_phase_ajith.png", careerPhaseAjithInsight(aggregates));
+        insights.put("career_phase_vijay.png", careerPhaseVijayInsight(aggregates));
+        insights.put("age_vs_productivity.png", ageVsProductivityInsight(aggregates));
+        insights.put("age_career_comparison.png", ageCareerInsight(aggregates));
+        insights.put("child_vs_lead.png", childVsLeadInsight(aggregates));
+        insights.put("five_year_productivity.png", fiveYearInsight(aggregates));
+        insights.put("decade_wise.png", decadeWiseInsight(aggregates));
+        insights.put("release_gap.png", releaseGapInsight(aggregates));
+        insights.put("career_phase_by_actor.png", careerPhaseByActorInsight(aggregates));
+        insights.put("productivity_trend.png", productivityTrendInsight(aggregates));
         return insights;
     }
 
-    private String moviesPerYearInsight(List<Film> films) {
-        Map<String, Map<Integer, Long>> counts = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(Film::getYear, TreeMap::new, Collectors.counting())));
+    private String moviesPerYearInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("This chart shows the annual film output for both actors. ");
-        for (Map.Entry<String, Map<Integer, Long>> entry : counts.entrySet()) {
-            Map.Entry<Integer, Long> max = entry.getValue().entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .orElse(null);
-            if (max != null) {
-                sb.append(entry.getKey()).append(" peaked with ")
-                        .append(max.getValue()).append(" films in ")
-                        .append(max.getKey()).append(". ");
-            }
+        for (int actor : aggregates.actors()) {
+            ActorStats stats = aggregates.stats(actor);
+            sb.append(aggregates.actorName(actor)).append(" peaked with ")
+                    .append(stats.getPeakCount()).append(" films in ")
+                    .append(stats.getPeakYear()).append(". ");
         }
         sb.append("Both actors show declining output in recent years, indicating a shift to quality over quantity.");
         return sb.toString();
     }
 
-    private String careerTimelineInsight(List<Film> films) {
-        Map<String, Long> totals = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor, Collectors.counting()));
-        Map<String, Integer> minYear = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.collectingAndThen(Collectors.minBy(Comparator.comparingInt(Film::getYear)),
-                                f -> f.map(Film::getYear).orElse(0))));
-        Map<String, Integer> maxYear = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.collectingAndThen(Collectors.maxBy(Comparator.comparingInt(Film::getYear)),
-                                f -> f.map(Film::getYear).orElse(0))));
-
+    private String careerTimelineInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("The cumulative timeline shows career growth trajectories. ");
-        for (String actor : totals.keySet()) {
-            sb.append(actor).append(" has ")
-                    .append(totals.get(actor)).append(" films spanning ")
-                    .append(minYear.get(actor)).append("-")
-                    .append(maxYear.get(actor)).append(". ");
+        for (int actor : aggregates.actors()) {
+            ActorStats stats = aggregates.stats(actor);
+            sb.append(aggregates.actorName(actor)).append(" has ")
+                    .append(stats.getFilms()).append(" films spanning ")
+                    .append(stats.getDebutYear()).append("-")
+                    .append(stats.getLastYear()).append(". ");
         }
         sb.append("Vijay's earlier start (1984) gives him a slight edge in total count, while Ajith started as a lead in 1993.");
         return sb.toString();
     }
 
-    private String careerPhaseInsight(List<Film> films) {
-        Map<String, Long> counts = films.stream()
-                .filter(f -> f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getCareerPhase, Collectors.counting()));
-        if (counts.isEmpty()) {
+    private String careerPhaseInsight(FilmAggregates aggregates) {
+        long[] counts = phaseCounts(aggregates, name -> true);
+        if (counts == null) {
             return "Career phase distribution will be available after feature engineering.";
         }
-        long early = counts.getOrDefault("Early", 0L);
-        long growth = counts.getOrDefault("Growth", 0L);
-        long peak = counts.getOrDefault("Peak", 0L);
+        long early = counts[0];
+        long growth = counts[1];
+        long peak = counts[2];
         return String.format("Career phase breakdown - Early (0-5 yrs): %d films, Growth (6-15 yrs): %d films, Peak (16+ yrs): %d films. " +
                 "Most films are in the Peak phase, indicating sustained productivity in mature careers.", early, growth, peak);
     }
     
-    private String careerPhaseAjithInsight(List<Film> films) {
-        Map<String, Long> counts = films.stream()
-                .filter(f -> f.getActor().contains("Ajith") && f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getCareerPhase, Collectors.counting()));
-        if (counts.isEmpty()) {
+    private String careerPhaseAjithInsight(FilmAggregates aggregates) {
+        long[] counts = phaseCounts(aggregates, actor -> aggregates.actorName(actor).contains("Ajith"));
+        if (counts == null) {
             return "Career phase data not available for Ajith.";
         }
-        long early = counts.getOrDefault("Early", 0L);
-        long growth = counts.getOrDefault("Growth", 0L);
-        long peak = counts.getOrDefault("Peak", 0L);
+        long early = counts[0];
+        long growth = counts[1];
+        long peak = counts[2];
         long total = early + growth + peak;
         double peakPct = total > 0 ? (peak * 100.0 / total) : 0;
         return String.format("Ajith Kumar's career breakdown - Early: %d films, Growth: %d films, Peak: %d films (%.0f%% in peak). " +
@@ -105,16 +91,14 @@ public class InsightGenerator {
                 early, growth, peak, peakPct);
     }
     
-    private String careerPhaseVijayInsight(List<Film> films) {
-        Map<String, Long> counts = films.stream()
-                .filter(f -> f.getActor().equals("Vijay") && f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getCareerPhase, Collectors.counting()));
-        if (counts.isEmpty()) {
+    private String careerPhaseVijayInsight(FilmAggregates aggregates) {
+        long[] counts = phaseCounts(aggregates, actor -> aggregates.actorName(actor).equals("Vijay"));
+        if (counts == null) {
             return "Career phase data not available for Vijay.";
         }
-        long early = counts.getOrDefault("Early", 0L);
-        long growth = counts.getOrDefault("Growth", 0L);
-        long peak = counts.getOrDefault("Peak", 0L);
+        long early = counts[0];
+        long growth = counts[1];
+        long peak = counts[2];
         long total = early + growth + peak;
         double peakPct = total > 0 ? (peak * 100.0 / total) : 0;
         return String.format("Vijay's career breakdown - Early: %d films, Growth: %d films, Peak: %d films (%.0f%% in peak). " +
@@ -122,55 +106,46 @@ public class InsightGenerator {
                 early, growth, peak, peakPct);
     }
 
-    private String ageVsProductivityInsight(List<Film> films) {
-        Map<String, Map<String, Long>> byActorAge = new HashMap<>();
-        
-        for (Film film : films) {
-            String actor = film.getActor();
-            Integer ageValue = film.getAgeAtFilm();
-            if (ageValue == null || ageValue <= 0) continue;
-            String bracket = getAgeBracket(ageValue);
-            byActorAge.computeIfAbsent(actor, k -> new HashMap<>())
-                    .merge(bracket, 1L, Long::sum);
+    private long[] phaseCounts(FilmAggregates aggregates, IntPredicate actorFilter) {
+        long[] counts = null;
+        for (int actor : aggregates.actors()) {
+            long[] actorCounts = aggregates.phaseCounts(actor);
+            if (actorCounts == null || !actorFilter.test(actor)) continue;
+            if (counts == null) {
+                counts = new long[FilmTable.PHASES.length];
+            }
+            for (int phase = 0; phase < counts.length; phase++) {
+                counts[phase] += actorCounts[phase];
+            }
         }
-        
+        return counts;
+    }
+
+    private String ageVsProductivityInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Age bracket analysis shows productivity across different life stages. ");
-        for (Map.Entry<String, Map<String, Long>> entry : byActorAge.entrySet()) {
-            String actor = entry.getKey();
-            Map.Entry<String, Long> max = entry.getValue().entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .orElse(null);
-            if (max != null) {
-                sb.append(actor).append(" was most productive in the ")
-                        .append(max.getKey()).append(" age range with ")
-                        .append(max.getValue()).append(" films. ");
+        for (int actor : aggregates.actors()) {
+            long[] counts = aggregates.ageBracketCounts(actor);
+            if (counts == null) continue;
+            int max = 0;
+            for (int bracket = 1; bracket < counts.length; bracket++) {
+                if (counts[bracket] > counts[max]) max = bracket;
             }
+            sb.append(aggregates.actorName(actor)).append(" was most productive in the ")
+                    .append(FilmAggregates.AGE_BRACKETS[max]).append(" age range with ")
+                    .append(counts[max]).append(" films. ");
         }
         sb.append("Both actors peaked in their late 20s to early 30s, aligning with typical star power and physical prime.");
         return sb.toString();
     }
-    
-    private String getAgeBracket(int age) {
-        if (age < 20) return "10-19";
-        if (age < 25) return "20-24";
-        if (age < 30) return "25-29";
-        if (age < 35) return "30-34";
-        if (age < 40) return "35-39";
-        if (age < 45) return "40-44";
-        if (age < 50) return "45-49";
-        return "50+";
-    }
 
-    private String ageCareerInsight(List<Film> films) {
+    private String ageCareerInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Career comparison metrics: ");
-        for (String actor : List.of("Ajith", "Vijay")) {
+        for (int code : aggregates.actors()) {
+            String actor = aggregates.actorName(code);
             int birthYear = ActorMetadata.getBirthYear(actor);
-            int debutYear = films.stream()
-                    .filter(f -> f.getActor().equals(actor))
-                    .mapToInt(Film::getYear)
-                    .min().orElse(0);
+            int debutYear = aggregates.stats(code).getDebutYear();
             int currentAge = ActorMetadata.getCurrentAge(actor);
             int debutAge = debutYear - birthYear;
             int careerSpan = ActorMetadata.CURRENT_YEAR - debutYear;
@@ -184,17 +159,13 @@ public class InsightGenerator {
         return sb.toString();
     }
 
-    private String childVsLeadInsight(List<Film> films) {
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
+    private String childVsLeadInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Child actor vs lead role distribution: ");
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            long child = entry.getValue().stream()
-                    .filter(f -> f.getNotes() != null && f.getNotes().toLowerCase().contains("child"))
-                    .count();
-            long total = entry.getValue().size();
-            long lead = total - child;
-            sb.append(entry.getKey()).append(" has ")
+        for (int actor : aggregates.actors()) {
+            long child = aggregates.childNoteCount(actor);
+            long lead = aggregates.filmCount(actor) - child;
+            sb.append(aggregates.actorName(actor)).append(" has ")
                     .append(child).append(" child role(s) and ")
                     .append(lead).append(" lead/adult roles. ");
         }
@@ -202,113 +173,86 @@ public class InsightGenerator {
         return sb.toString();
     }
 
-    private String fiveYearInsight(List<Film> films) {
-        Map<String, Map<String, Long>> byActorPeriod = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(f -> getPeriod(f.getYear()), Collectors.counting())));
+    private String fiveYearInsight(FilmAggregates aggregates) {
+        YearHistogram years = aggregates.years();
+        int[] periods = years.bucketStarts(5);
 
         StringBuilder sb = new StringBuilder();
         sb.append("5-year productivity analysis: ");
-        for (Map.Entry<String, Map<String, Long>> entry : byActorPeriod.entrySet()) {
-            String actor = entry.getKey();
-            Map.Entry<String, Long> max = entry.getValue().entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .orElse(null);
-            if (max != null) {
-                sb.append(actor).append(" was most productive during ")
-                        .append(max.getKey()).append(" (").append(max.getValue()).append(" films). ");
+        for (int actor : aggregates.actors()) {
+            int maxStart = -1;
+            long maxCount = 0;
+            for (int start : periods) {
+                long count = years.bucketCount(actor, start, 5);
+                if (count > maxCount) {
+                    maxStart = start;
+                    maxCount = count;
+                }
+            }
+            if (maxStart >= 0) {
+                sb.append(aggregates.actorName(actor)).append(" was most productive during ")
+                        .append(getPeriod(maxStart)).append(" (").append(maxCount).append(" films). ");
             }
         }
         sb.append("Both actors show highest output in the 1995-1999 and 2000-2004 periods, coinciding with Tamil cinema's commercial boom.");
         return sb.toString();
     }
 
-    private String decadeWiseInsight(List<Film> films) {
-        Map<String, Map<String, Long>> byActorDecade = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(f -> getDecade(f.getYear()), Collectors.counting())));
+    private String decadeWiseInsight(FilmAggregates aggregates) {
+        YearHistogram years = aggregates.years();
+        int[] decades = years.bucketStarts(10);
 
         StringBuilder sb = new StringBuilder();
         sb.append("Decade-wise output comparison: ");
-        for (Map.Entry<String, Map<String, Long>> entry : byActorDecade.entrySet()) {
-            sb.append(entry.getKey()).append(" - ");
-            entry.getValue().entrySet().stream()
-                    .sorted(Map.Entry.comparingByKey())
-                    .forEach(e -> sb.append(e.getKey()).append(": ").append(e.getValue()).append(", "));
+        for (int actor : aggregates.actors()) {
+            sb.append(aggregates.actorName(actor)).append(" - ");
+            for (int start : decades) {
+                long count = years.bucketCount(actor, start, 10);
+                if (count > 0) {
+                    sb.append(getDecade(start)).append(": ").append(count).append(", ");
+                }
+            }
         }
         sb.append("The 1990s and 2000s were the golden era for both actors with significantly higher output than recent decades.");
         return sb.toString();
     }
 
-    private String releaseGapInsight(List<Film> films) {
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
+    private String releaseGapInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Release gap analysis: ");
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            String actor = entry.getKey();
-            List<Film> sorted = entry.getValue().stream()
-                    .sorted(Comparator.comparingInt(Film::getYear))
-                    .collect(Collectors.toList());
-
-            int maxGap = 0;
-            int maxGapYear = 0;
-            for (int i = 1; i < sorted.size(); i++) {
-                int gap = sorted.get(i).getYear() - sorted.get(i - 1).getYear();
-                if (gap > maxGap) {
-                    maxGap = gap;
-                    maxGapYear = sorted.get(i - 1).getYear();
-                }
-            }
-            sb.append(actor).append("'s longest gap was ")
-                    .append(maxGap).append(" year(s) after ").append(maxGapYear).append(". ");
+        for (int actor : aggregates.actors()) {
+            int[] gap = aggregates.longestGap(actor);
+            sb.append(aggregates.actorName(actor)).append("'s longest gap was ")
+                    .append(gap[0]).append(" year(s) after ").append(gap[1]).append(". ");
         }
         sb.append("Vijay maintains more consistent releases while Ajith has occasional longer breaks between films.");
         return sb.toString();
     }
 
-    private String getPeriod(int year) {
-        int start = (year / 5) * 5;
+    private String getPeriod(int start) {
         return start + "-" + (start + 4);
     }
 
-    private String getDecade(int year) {
-        int start = (year / 10) * 10;
+    private String getDecade(int start) {
         return start + "s";
     }
     
-    private String careerPhaseByActorInsight(List<Film> films) {
-        Map<String, Map<String, Long>> byActorPhase = films.stream()
-                .filter(f -> f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(Film::getCareerPhase, Collectors.counting())));
-        
+    private String careerPhaseByActorInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Career phase comparison between actors: ");
-        for (Map.Entry<String, Map<String, Long>> entry : byActorPhase.entrySet()) {
-            String actor = entry.getKey();
-            long early = entry.getValue().getOrDefault("Early", 0L);
-            long growth = entry.getValue().getOrDefault("Growth", 0L);
-            long peak = entry.getValue().getOrDefault("Peak", 0L);
-            sb.append(actor).append(" - Early: ").append(early)
-                    .append(", Growth: ").append(growth)
-                    .append(", Peak: ").append(peak).append(". ");
+        for (int actor : aggregates.actors()) {
+            long[] counts = aggregates.phaseCounts(actor);
+            if (counts == null) continue;
+            sb.append(aggregates.actorName(actor)).append(" - Early: ").append(counts[0])
+                    .append(", Growth: ").append(counts[1])
+                    .append(", Peak: ").append(counts[2]).append(". ");
         }
         sb.append("Both actors have majority of films in Peak phase (16+ years), showing sustained productivity in mature careers. " +
                 "Vijay's longer child actor period contributes more Early phase films.");
         return sb.toString();
     }
     
-    private String productivityTrendInsight(List<Film> films) {
-        Map<String, Map<String, Integer>> ageFilmCount = new HashMap<>();
-        for (Film film : films) {
-            String actor = film.getActor();
-            Integer age = film.getAgeAtFilm();
-            if (age == null || age <= 0) continue;
-            String ageGroup = getAgeBracket5Year(age);
-            ageFilmCount.computeIfAbsent(actor, k -> new HashMap<>())
-                    .merge(ageGroup, 1, Integer::sum);
-        }
-        
+    private String productivityTrendInsight(FilmAggregates aggregates) {
         StringBuilder sb = new StringBuilder();
         sb.append("Average annual productivity trend by age: ");
         sb.append("This line chart shows how average films per year changes across age brackets. ");
@@ -317,16 +261,4 @@ public class InsightGenerator {
         sb.append("Vijay shows earlier activity due to child roles, while Ajith's trend starts at 20-24.");
         return sb.toString();
     }
-    
-    private String getAgeBracket5Year(int age) {
-        if (age < 15) return "10-14";
-        if (age < 20) return "15-19";
-        if (age < 25) return "20-24";
-        if (age < 30) return "25-29";
-        if (age < 35) return "30-34";
-        if (age < 40) return "35-39";
-        if (age < 45) return "40-44";
-        if (age < 50) return "45-49";
-        return "50-54";
-    }
 }
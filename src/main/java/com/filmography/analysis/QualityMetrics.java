@@ -0,0 +1,206 @@
+package com.filmography.analysis;
+
+import com.filmography.model.FilmTable;
+import com.filmography.pipeline.Metrics;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Data quality counts for a raw {@link FilmTable}: empty text fields, footnote
+ * markers in roles, child-role notes and duplicate actor/year/film rows. The
+ * counting is a combinable reduction over chunks of rows, run in parallel for
+ * large tables, and neither the checks nor the duplicate detection build strings.
+ */
+public final class QualityMetrics {
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int ROWS_PER_CHUNK = 1 << 12;
+
+    private final int nullFilm;
+    private final int nullRole;
+    private final int nullNotes;
+    private final int footnotes;
+    private final int childRoles;
+    private final long duplicates;
+
+    private QualityMetrics(Counts counts, long duplicates) {
+        this.nullFilm = counts.nullFilm;
+        this.nullRole = counts.nullRole;
+        this.nullNotes = counts.nullNotes;
+        this.footnotes = counts.footnotes;
+        this.childRoles = counts.childRoles;
+        this.duplicates = duplicates;
+    }
+
+    public static QualityMetrics of(FilmTable table) {
+        int total = table.size();
+        long[] hashes = new long[total];
+        IntStream chunks = IntStream.range(0, (total + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK);
+        if (total >= PARALLEL_THRESHOLD) {
+            chunks = chunks.parallel();
+        }
+        Metrics.Workers workers = Metrics.workers();
+        Counts counts = chunks.collect(Counts::new, (c, chunk) -> workers.run(() -> {
+            int end = Math.min(total, (chunk + 1) * ROWS_PER_CHUNK);
+            for (int row = chunk * ROWS_PER_CHUNK; row < end; row++) {
+                c.accept(table, row, hashes);
+            }
+        }), Counts::combine);
+        return new QualityMetrics(counts, total - distinctRows(table, hashes));
+    }
+
+    public int getNullFilm() {
+        return nullFilm;
+    }
+
+    public int getNullRole() {
+        return nullRole;
+    }
+
+    public int getNullNotes() {
+        return nullNotes;
+    }
+
+    public int getTotalNulls() {
+        return nullFilm + nullRole + nullNotes;
+    }
+
+    public int getFootnotes() {
+        return footnotes;
+    }
+
+    public int getChildRoles() {
+        return childRoles;
+    }
+
+    /** Rows repeating an earlier row's actor, year and film. */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    private static final class Counts {
+        private int nullFilm;
+        private int nullRole;
+        private int nullNotes;
+        private int footnotes;
+        private int childRoles;
+
+        private void accept(FilmTable table, int row, long[] hashes) {
+            String film = table.film(row);
+            String role = table.role(row);
+            String notes = table.notes(row);
+            if (film == null || film.isEmpty()) nullFilm++;
+            if (role == null || role.isEmpty()) nullRole++;
+            if (notes == null || notes.isEmpty()) nullNotes++;
+            if (role != null && hasFootnote(role)) footnotes++;
+            if (notes != null && mentionsChild(notes)) childRoles++;
+            hashes[row] = rowHash(table, row);
+        }
+
+        private void combine(Counts other) {
+            nullFilm += other.nullFilm;
+            nullRole += other.nullRole;
+            nullNotes += other.nullNotes;
+            footnotes += other.footnotes;
+            childRoles += other.childRoles;
+        }
+    }
+
+    /** Same as finding {@code \[[a-z]\]} in the text. */
+    static boolean hasFootnote(String text) {
+        for (int i = text.indexOf('['); i >= 0 && i + 2 < text.length(); i = text.indexOf('[', i + 1)) {
+            char c = text.charAt(i + 1);
+            if (c >= 'a' && c <= 'z' && text.charAt(i + 2) == ']') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as {@code text.toLowerCase().contains("child")}, without the copy for
+     * ASCII text in locales that lowercase ASCII the usual way.
+     */
+    static boolean mentionsChild(String text) {
+        int length = text.length();
+        boolean ascii = !hasSpecialCasing(Locale.getDefault());
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            return text.toLowerCase().contains("child");
+        }
+        for (int i = 0; i + 5 <= length; i++) {
+            if (text.regionMatches(true, i, "child", 0, 5)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasSpecialCasing(Locale locale) {
+        String language = locale.getLanguage();
+        return language.equals("tr") || language.equals("az") || language.equals("lt");
+    }
+
+    /**
+     * Number of distinct actor/year/film rows. Rows are bucketed by hash in an
+     * open-addressing table and compared field by field on a hash match, with
+     * a null film equal to the text "null" as it was in the string key. If an
+     * actor name contains the key separator, the string keys are used as before.
+     */
+    private static int distinctRows(FilmTable table, long[] hashes) {
+        for (int actor = 0; actor < table.actorCount(); actor++) {
+            if (table.actorName(actor).indexOf('|') >= 0) {
+                return distinctKeys(table);
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, hashes.length) * 2 - 1) << 1;
+        int mask = capacity - 1;
+        int[] slots = new int[capacity];
+        int distinct = 0;
+        for (int row = 0; row < hashes.length; row++) {
+            int slot = (int) hashes[row] & mask;
+            while (true) {
+                int other = slots[slot] - 1;
+                if (other < 0) {
+                    slots[slot] = row + 1;
+                    distinct++;
+                    break;
+                }
+                if (hashes[other] == hashes[row] && sameKey(table, row, other)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return distinct;
+    }
+
+    private static int distinctKeys(FilmTable table) {
+        Set<String> distinct = new HashSet<>();
+        for (int row = 0; row < table.size(); row++) {
+            distinct.add(table.actor(row) + "|" + table.year(row) + "|" + table.film(row));
+        }
+        return distinct.size();
+    }
+
+    private static boolean sameKey(FilmTable table, int row, int other) {
+        return table.year(row) == table.year(other)
+                && table.actor(row).equals(table.actor(other))
+                && String.valueOf(table.film(row)).equals(String.valueOf(table.film(other)));
+    }
+
+    private static long rowHash(FilmTable table, int row) {
+        long h = table.actor(row).hashCode();
+        h = h * 0x9E3779B97F4A7C15L + table.year(row);
+        h = h * 0x9E3779B97F4A7C15L + String.valueOf(table.film(row)).hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,193 @@
+package com.filmography.analysis;
+
+import com.filmography.model.FilmTable;
+
+import java.util.Arrays;
+
+/**
+ * Films per actor and year, built in two scans and stored as prefix sums. Each
+ * actor's row covers only their own first-to-last film year and starts at an
+ * offset into one shared array, so the size grows with the actors' careers,
+ * not actors times the table's whole year range. Any year range, including
+ * five-year periods and decades, is counted in O(1) with two lookups.
+ */
+public final class YearHistogram {
+    private final int actors;
+    private final int firstYear;
+    private final int span;
+    private final int[] actorFirstYears;
+    private final int[] actorSpans;
+    private final int[] offsets;
+    private final int[] prefix;
+    private final int[] allPrefix;
+
+    private YearHistogram(int firstYear, int span, int[] actorFirstYears, int[] actorSpans) {
+        this.actors = actorSpans.length;
+        this.firstYear = firstYear;
+        this.span = span;
+        this.actorFirstYears = actorFirstYears;
+        this.actorSpans = actorSpans;
+        this.offsets = new int[actors + 1];
+        long size = 0;
+        for (int actor = 0; actor < actors; actor++) {
+            offsets[actor] = (int) Math.min(size, Integer.MAX_VALUE);
+            size += actorSpans[actor] + 1L;
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Year histogram needs " + size + " cells for " + actors
+                    + " actors, more than one array holds");
+        }
+        offsets[actors] = (int) size;
+        this.prefix = new int[(int) size];
+        this.allPrefix = new int[span + 1];
+    }
+
+    public static YearHistogram of(FilmTable table) {
+        int actors = table.actorCount();
+        int[] actorFirstYears = new int[actors];
+        int[] actorLastYears = new int[actors];
+        Arrays.fill(actorFirstYears, Integer.MAX_VALUE);
+        Arrays.fill(actorLastYears, Integer.MIN_VALUE);
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (int row = 0; row < table.size(); row++) {
+            int year = table.year(row);
+            int actor = table.actorCode(row);
+            actorFirstYears[actor] = Math.min(actorFirstYears[actor], year);
+            actorLastYears[actor] = Math.max(actorLastYears[actor], year);
+            minYear = Math.min(minYear, year);
+            maxYear = Math.max(maxYear, year);
+        }
+        if (table.size() > 0 && (long) maxYear - minYear + 1 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Film years " + minYear + " to " + maxYear + " span too many years");
+        }
+
+        int[] actorSpans = new int[actors];
+        for (int actor = 0; actor < actors; actor++) {
+            if (actorLastYears[actor] < actorFirstYears[actor]) {
+                actorFirstYears[actor] = 0;
+            } else {
+                actorSpans[actor] = actorLastYears[actor] - actorFirstYears[actor] + 1;
+            }
+        }
+        YearHistogram histogram = table.size() == 0
+                ? new YearHistogram(0, 0, actorFirstYears, actorSpans)
+                : new YearHistogram(minYear, maxYear - minYear + 1, actorFirstYears, actorSpans);
+
+        int[] prefix = histogram.prefix;
+        int[] offsets = histogram.offsets;
+        int[] allPrefix = histogram.allPrefix;
+        for (int row = 0; row < table.size(); row++) {
+            int year = table.year(row);
+            int actor = table.actorCode(row);
+            prefix[offsets[actor] + year - actorFirstYears[actor] + 1]++;
+            allPrefix[year - minYear + 1]++;
+        }
+        for (int actor = 0; actor < actors; actor++) {
+            for (int i = offsets[actor] + 1; i < offsets[actor + 1]; i++) {
+                prefix[i] += prefix[i - 1];
+            }
+        }
+        for (int i = 1; i < allPrefix.length; i++) {
+            allPrefix[i] += allPrefix[i - 1];
+        }
+        return histogram;
+    }
+
+    public int actorCount() {
+        return actors;
+    }
+
+    /** Earliest year in the table, or 0 if it is empty. */
+    public int firstYear() {
+        return firstYear;
+    }
+
+    /** Latest year in the table, or 0 if it is empty. */
+    public int lastYear() {
+        return span == 0 ? 0 : firstYear + span - 1;
+    }
+
+    /** The actor's first film year, where their row starts, or 0 if they have no films. */
+    public int actorFirstYear(int actor) {
+        return actorFirstYears[actor];
+    }
+
+    /** Years from the actor's first to last film, both inclusive, or 0 if they have no films. */
+    public int actorSpan(int actor) {
+        return actorSpans[actor];
+    }
+
+    /**
+     * Films for the actor in year {@code actorFirstYear(actor) + index}, for
+     * {@code index} in {@code [0, actorSpan(actor))}: the difference of two
+     * successive prefix sums in the actor's row, without clamping.
+     */
+    public int countAt(int actor, int index) {
+        int cell = offsets[actor] + index;
+        return prefix[cell + 1] - prefix[cell];
+    }
+
+    public int count(int actor, int year) {
+        return count(actor, year, year);
+    }
+
+    /** Films for the actor from {@code fromYear} to {@code toYear}, both inclusive. */
+    public int count(int actor, int fromYear, int toYear) {
+        int actorFirst = actorFirstYears[actor];
+        int actorSpan = actorSpans[actor];
+        int from = slot(fromYear, actorFirst, actorSpan);
+        int to = slot(toYear + 1L, actorFirst, actorSpan);
+        if (to <= from) {
+            return 0;
+        }
+        return prefix[offsets[actor] + to] - prefix[offsets[actor] + from];
+    }
+
+    public int total(int actor) {
+        return prefix[offsets[actor + 1] - 1];
+    }
+
+    /** Films by any actor from {@code fromYear} to {@code toYear}, both inclusive. */
+    public int countAll(int fromYear, int toYear) {
+        int from = slot(fromYear, firstYear, span);
+        int to = slot(toYear + 1L, firstYear, span);
+        return to <= from ? 0 : allPrefix[to] - allPrefix[from];
+    }
+
+    /** Start year of the bucket containing {@code year}, e.g. 1995 for 1997 with width 5. */
+    public static int bucketStart(int year, int width) {
+        return (year / width) * width;
+    }
+
+    public int bucketCount(int actor, int start, int width) {
+        return count(actor, start, start + width - 1);
+    }
+
+    /** Start years of the buckets holding at least one film by any actor, in ascending order. */
+    public int[] bucketStarts(int width) {
+        if (span == 0) {
+            return new int[0];
+        }
+        int first = bucketStart(firstYear, width);
+        int[] starts = new int[(lastYear() - first) / width + 1];
+        int count = 0;
+        for (int start = first; start <= lastYear(); start += width) {
+            if (countAll(start, start + width - 1) > 0) {
+                starts[count++] = start;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    /** Years with at least one film by any actor, in ascending order. */
+    public int[] years() {
+        return bucketStarts(1);
+    }
+
+    /** Offset into a prefix row starting at {@code rowFirstYear} for {@code year}, clamped to the row. */
+    private static int slot(long year, int rowFirstYear, int rowSpan) {
+        long offset = year - rowFirstYear;
+        return (int) Math.max(0, Math.min(rowSpan, offset));
+    }
+}
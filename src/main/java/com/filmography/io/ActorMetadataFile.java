@@ -0,0 +1,225 @@
+package com.filmography.io;
+
+import com.filmography.model.ActorMetadataStore;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Loads an {@link ActorMetadataStore} from a CSV or a binary metadata file.
+ *
+ * The CSV has a header naming the {@code actor}, {@code full_name} and
+ * {@code birth_date} columns in any order (only {@code actor} is required),
+ * with ISO {@code yyyy-MM-dd} dates and empty cells for unknown values.
+ *
+ * The binary layout keeps each column contiguous so it is read with bulk
+ * copies:
+ * <pre>
+ * "AMDT" version:int count:int
+ * birthDates:int[count]   (yyyymmdd, 0 if unknown)
+ * nameEnds:int[count]     fullNameEnds:int[count]   (end offsets into text)
+ * textLength:int text:UTF-8 (all names, then all full names; empty = none)
+ * </pre>
+ */
+public final class ActorMetadataFile {
+    static final int MAGIC = 0x414D4454;
+    static final int VERSION = 1;
+
+    private ActorMetadataFile() {
+    }
+
+    /** Reads a binary file if it starts with the magic number, otherwise a CSV. */
+    public static ActorMetadataStore read(String path) throws IOException {
+        byte[] magic = new byte[4];
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            if (in.readNBytes(magic, 0, 4) == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC) {
+                return readBinary(path);
+            }
+        }
+        return readCsv(path);
+    }
+
+    public static ActorMetadataStore readCsv(String path) throws IOException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(Files.newInputStream(Paths.get(path)),
+                StandardCharsets.UTF_8))) {
+            String[] header = reader.readNext();
+            if (header == null) {
+                throw new IOException("Empty actor metadata file: " + path);
+            }
+            int actorColumn = -1;
+            int fullNameColumn = -1;
+            int birthDateColumn = -1;
+            for (int i = 0; i < header.length; i++) {
+                String column = header[i].trim().toLowerCase(Locale.ROOT);
+                if (i == 0 && column.startsWith("\uFEFF")) {
+                    column = column.substring(1);
+                }
+                if (column.equals("actor")) actorColumn = i;
+                else if (column.equals("full_name")) fullNameColumn = i;
+                else if (column.equals("birth_date")) birthDateColumn = i;
+            }
+            if (actorColumn < 0) {
+                throw new IOException("No actor column in " + path);
+            }
+
+            ActorMetadataStore.Builder builder = ActorMetadataStore.builder(1024);
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (row.length == 1 && row[0].isEmpty()) {
+                    continue;
+                }
+                long line = reader.getLinesRead();
+                String actor = cell(row, actorColumn);
+                try {
+                    builder.add(actor, cell(row, fullNameColumn), parseDate(cell(row, birthDateColumn)));
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException(ex.getMessage() + " on line " + line + " of " + path, ex);
+                }
+            }
+            try {
+                return builder.build();
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(ex.getMessage() + " in " + path, ex);
+            }
+        } catch (CsvValidationException ex) {
+            throw new IOException("Malformed actor metadata CSV: " + path, ex);
+        }
+    }
+
+    private static String cell(String[] row, int column) {
+        return column < 0 || column >= row.length ? null : row[column].trim();
+    }
+
+    /** {@code yyyy-MM-dd} as {@code yyyymmdd}, 0 for an empty cell. */
+    private static int parseDate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new IllegalArgumentException("Bad birth date '" + text + "'");
+        }
+        int date = 0;
+        for (int i = 0; i < 10; i++) {
+            if (i == 4 || i == 7) {
+                continue;
+            }
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Bad birth date '" + text + "'");
+            }
+            date = date * 10 + (c - '0');
+        }
+        return date;
+    }
+
+    public static ActorMetadataStore readBinary(String path) throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(path));
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not an actor metadata file: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported actor metadata version " + version + ": " + path);
+            }
+            int count = in.getInt();
+            if (count < 0 || (long) count * 12 > in.remaining()) {
+                throw new IOException("Corrupt actor metadata file: " + path);
+            }
+            int[] birthDates = new int[count];
+            int[] nameEnds = new int[count];
+            int[] fullNameEnds = new int[count];
+            IntBuffer ints = in.asIntBuffer();
+            ints.get(birthDates).get(nameEnds).get(fullNameEnds);
+            in.position(in.position() + count * 12);
+            int textLength = in.getInt();
+            if (textLength != in.remaining()) {
+                throw new IOException("Corrupt actor metadata file: " + path);
+            }
+
+            int base = in.position();
+            ActorMetadataStore.Builder builder = ActorMetadataStore.builder(count);
+            int nameStart = 0;
+            int fullNameStart = count == 0 ? 0 : nameEnds[count - 1];
+            for (int id = 0; id < count; id++) {
+                if (nameEnds[id] < nameStart || fullNameEnds[id] < fullNameStart || fullNameEnds[id] > textLength) {
+                    throw new IOException("Corrupt actor metadata file: " + path);
+                }
+                builder.add(new String(bytes, base + nameStart, nameEnds[id] - nameStart, StandardCharsets.UTF_8),
+                        new String(bytes, base + fullNameStart, fullNameEnds[id] - fullNameStart, StandardCharsets.UTF_8),
+                        birthDates[id]);
+                nameStart = nameEnds[id];
+                fullNameStart = fullNameEnds[id];
+            }
+            return builder.build();
+        } catch (IllegalArgumentException | BufferUnderflowException ex) {
+            throw new IOException("Corrupt actor metadata file: " + path, ex);
+        }
+    }
+
+    public static void writeBinary(String path, ActorMetadataStore store) throws IOException {
+        int count = store.size();
+        byte[][] names = new byte[count][];
+        byte[][] fullNames = new byte[count][];
+        long textLength = 0;
+        for (int id = 0; id < count; id++) {
+            names[id] = store.name(id).getBytes(StandardCharsets.UTF_8);
+            String fullName = store.fullName(id);
+            fullNames[id] = fullName == null ? new byte[0] : fullName.getBytes(StandardCharsets.UTF_8);
+            textLength += names[id].length + fullNames[id].length;
+        }
+        if (textLength > Integer.MAX_VALUE - 64L - count * 12L) {
+            throw new IOException("Too much actor metadata text for one file: " + textLength + " bytes");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            for (int id = 0; id < count; id++) {
+                out.writeInt(store.packedBirthDate(id));
+            }
+            int end = 0;
+            for (int id = 0; id < count; id++) {
+                end += names[id].length;
+                out.writeInt(end);
+            }
+            for (int id = 0; id < count; id++) {
+                end += fullNames[id].length;
+                out.writeInt(end);
+            }
+            out.writeInt(end);
+            for (byte[] name : names) {
+                out.write(name);
+            }
+            for (byte[] fullName : fullNames) {
+                out.write(fullName);
+            }
+        }
+    }
+
+    /** Converts a metadata CSV to the binary format: {@code <actors.csv> <actors.amd>}. */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: ActorMetadataFile <actors.csv> <actors.amd>");
+            System.exit(2);
+        }
+        ActorMetadataStore store = readCsv(args[0]);
+        writeBinary(args[1], store);
+        System.out.println("Wrote " + store.size() + " actors to " + args[1]);
+    }
+}
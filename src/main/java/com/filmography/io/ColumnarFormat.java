@@ -0,0 +1,69 @@
+package com.filmography.io;
+
+/**
+ * Layout of the binary columnar filmography file ({@code .fcol}).
+ *
+ * <pre>
+ * "FCOL" version:int rowCount:int
+ * column blobs, back to back
+ * footer: columnCount:int { name:UTF encoding:byte offset:long length:long }*
+ * footerOffset:long "FCOL"
+ * </pre>
+ *
+ * Column encodings:
+ * <ul>
+ * <li>{@link #DICTIONARY}: dictionary size, UTF strings, bit width, then
+ * bit-packed codes where 0 is null and {@code n} is dictionary entry {@code n - 1}.</li>
+ * <li>{@link #DELTA_VARINT}: null bitmap (flag byte, then words if any null),
+ * then zigzag varint deltas between consecutive non-null values.</li>
+ * <li>{@link #STRING}: per row a varint of UTF-8 length + 1 (0 is null) and the bytes.</li>
+ * <li>{@link #BITSET}: word count and the bitset words.</li>
+ * </ul>
+ * Offsets are absolute, so a reader can map and scan a single column.
+ */
+final class ColumnarFormat {
+    static final int MAGIC = 0x46434F4C;
+    static final int VERSION = 1;
+    static final int TRAILER_BYTES = 12;
+
+    static final byte DICTIONARY = 1;
+    static final byte DELTA_VARINT = 2;
+    static final byte STRING = 3;
+    static final byte BITSET = 4;
+
+    static final String ACTOR = "Actor";
+    static final String YEAR = "Year";
+    static final String FILM = "Film";
+    static final String ROLE = "Role";
+    static final String NOTES = "Notes";
+    static final String ENGINEERED = "Engineered";
+    static final String DEBUT_YEAR = "Debut_Year";
+    static final String LEAD_DEBUT_YEAR = "Lead_Debut_Year";
+    static final String CAREER_SPAN = "Career_Span";
+    static final String CAREER_PHASE = "Career_Phase";
+    static final String CUMULATIVE_MOVIES = "Cumulative_Movies";
+    static final String MOVIES_PER_YEAR = "Movies_Per_Year";
+    static final String RELEASE_GAP = "Release_Gap";
+    static final String HIGH_PRODUCTIVITY = "High_Productivity";
+    static final String IS_SPECIAL = "Is_Special";
+    static final String AGE_AT_FILM = "Age_At_Film";
+    static final String AGE_AT_DEBUT = "Age_At_Debut";
+    static final String CURRENT_AGE = "Current_Age";
+    static final String IS_CHILD_ROLE = "Is_Child_Role";
+    static final String IS_UPCOMING = "Is_Upcoming";
+
+    private ColumnarFormat() {
+    }
+
+    static int bitWidth(int maxValue) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,281 @@
+package com.filmography.io;
+
+import com.filmography.model.FilmTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.filmography.io.ColumnarFormat.*;
+
+/**
+ * Reads files written by {@link ColumnarWriter}. Only the footer is read on
+ * open; each column is memory-mapped on demand, so a single column can be
+ * scanned without touching the rest of the file.
+ */
+public class ColumnarReader implements Closeable {
+    private final FileChannel channel;
+    private final int rowCount;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    public ColumnarReader(String path) throws IOException {
+        channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 12 + TRAILER_BYTES) {
+                throw new IOException("Not a columnar filmography file: " + path);
+            }
+            ByteBuffer header = map(0, 12);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a columnar filmography file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported columnar file version " + version + ": " + path);
+            }
+            rowCount = header.getInt();
+
+            ByteBuffer trailer = map(size - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < 12 || footerOffset > size - TRAILER_BYTES) {
+                throw new IOException("Corrupt columnar file footer: " + path);
+            }
+            ByteBuffer footer = map(footerOffset, size - TRAILER_BYTES - footerOffset);
+            int count = footer.getInt();
+            for (int i = 0; i < count; i++) {
+                String name = readUtf(footer);
+                byte encoding = footer.get();
+                long offset = footer.getLong();
+                long length = footer.getLong();
+                columns.put(name, new Column(encoding, offset, length));
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public List<String> columns() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /** Integer column values, with missing values as {@link FilmTable#NULL}. */
+    public int[] readInts(String name) throws IOException {
+        ByteBuffer in = open(name, DELTA_VARINT);
+        BitSet nulls = in.get() == 0 ? new BitSet() : readWords(in);
+        int[] values = new int[rowCount];
+        long previous = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (nulls.get(row)) {
+                values[row] = FilmTable.NULL;
+                continue;
+            }
+            previous += unzigzag(readVarint(in));
+            values[row] = (int) previous;
+        }
+        return values;
+    }
+
+    /** Values of a string or dictionary-encoded column. */
+    public String[] readStrings(String name) throws IOException {
+        Column column = column(name);
+        String[] values = new String[rowCount];
+        if (column.encoding == DICTIONARY) {
+            String[] dictionary = readDictionary(name);
+            int[] codes = readCodes(name);
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = codes[row] < 0 ? null : dictionary[codes[row]];
+            }
+            return values;
+        }
+        ByteBuffer in = open(name, STRING);
+        byte[] scratch = new byte[64];
+        for (int row = 0; row < rowCount; row++) {
+            int length = (int) readVarint(in) - 1;
+            if (length < 0) continue;
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            in.get(scratch, 0, length);
+            values[row] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    public String[] readDictionary(String name) throws IOException {
+        ByteBuffer in = open(name, DICTIONARY);
+        String[] dictionary = new String[(int) readVarint(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readUtf(in);
+        }
+        return dictionary;
+    }
+
+    /** Dictionary indexes per row, -1 for null. */
+    public int[] readCodes(String name) throws IOException {
+        ByteBuffer in = open(name, DICTIONARY);
+        int size = (int) readVarint(in);
+        for (int i = 0; i < size; i++) {
+            readUtf(in);
+        }
+        int width = in.get();
+        long mask = (1L << width) - 1;
+        int[] codes = new int[rowCount];
+        long word = 0;
+        int available = 0;
+        for (int row = 0; row < rowCount; row++) {
+            long code;
+            if (available >= width) {
+                code = word & mask;
+                word >>>= width;
+                available -= width;
+            } else {
+                long next = in.getLong();
+                code = (word | (next << available)) & mask;
+                word = next >>> (width - available);
+                available += 64 - width;
+            }
+            codes[row] = (int) code - 1;
+        }
+        return codes;
+    }
+
+    public BitSet readFlags(String name) throws IOException {
+        return readWords(open(name, BITSET));
+    }
+
+    public FilmTable readTable() throws IOException {
+        String[] actors = readDictionary(ACTOR);
+        int[] actorCodes = readCodes(ACTOR);
+        int[] years = readInts(YEAR);
+        String[] films = readStrings(FILM);
+        String[] roles = readStrings(ROLE);
+        String[] notes = readStrings(NOTES);
+
+        FilmTable.Builder builder = new FilmTable.Builder(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            builder.add(actors[actorCodes[row]], years[row], films[row], roles[row], notes[row]);
+        }
+        FilmTable table = builder.build();
+
+        BitSet engineered = readFlags(ENGINEERED);
+        if (engineered.isEmpty()) {
+            return table;
+        }
+        int[] debutYears = readInts(DEBUT_YEAR);
+        int[] leadDebutYears = readInts(LEAD_DEBUT_YEAR);
+        int[] careerSpans = readInts(CAREER_SPAN);
+        int[] phaseCodes = readCodes(CAREER_PHASE);
+        int[] cumulative = readInts(CUMULATIVE_MOVIES);
+        int[] perYear = readInts(MOVIES_PER_YEAR);
+        int[] releaseGaps = readInts(RELEASE_GAP);
+        int[] agesAtFilm = readInts(AGE_AT_FILM);
+        int[] agesAtDebut = readInts(AGE_AT_DEBUT);
+        int[] currentAges = readInts(CURRENT_AGE);
+        BitSet highProductivity = readFlags(HIGH_PRODUCTIVITY);
+        BitSet special = readFlags(IS_SPECIAL);
+        BitSet childRole = readFlags(IS_CHILD_ROLE);
+        BitSet upcoming = readFlags(IS_UPCOMING);
+        for (int row = engineered.nextSetBit(0); row >= 0; row = engineered.nextSetBit(row + 1)) {
+            table.setFeatures(row, debutYears[row], leadDebutYears[row], careerSpans[row], phaseCodes[row],
+                    cumulative[row], perYear[row], releaseGaps[row], agesAtFilm[row], agesAtDebut[row],
+                    currentAges[row], highProductivity.get(row), special.get(row), childRole.get(row),
+                    upcoming.get(row));
+        }
+        return table;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Column column(String name) throws IOException {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IOException("No such column: " + name);
+        }
+        return column;
+    }
+
+    private ByteBuffer open(String name, byte encoding) throws IOException {
+        Column column = column(name);
+        if (column.encoding != encoding) {
+            throw new IOException("Column " + name + " has encoding " + column.encoding + ", expected " + encoding);
+        }
+        return map(column.offset, column.length);
+    }
+
+    private MappedByteBuffer map(long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Column region too large to map: " + length + " bytes");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    private static BitSet readWords(ByteBuffer in) {
+        long[] words = new long[(int) readVarint(in)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.getLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /** Matches {@link java.io.DataOutput#writeUTF}, which only differs from UTF-8 for NUL and supplementary characters. */
+    private static String readUtf(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        char[] chars = new char[length];
+        int count = 0;
+        int end = in.position() + length;
+        while (in.position() < end) {
+            int a = in.get() & 0xFF;
+            if (a < 0x80) {
+                chars[count++] = (char) a;
+            } else if ((a & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((a & 0x1F) << 6) | (in.get() & 0x3F));
+            } else {
+                int b = in.get() & 0x3F;
+                chars[count++] = (char) (((a & 0x0F) << 12) | (b << 6) | (in.get() & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static final class Column {
+        private final byte encoding;
+        private final long offset;
+        private final long length;
+
+        private Column(byte encoding, long offset, long length) {
+            this.encoding = encoding;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
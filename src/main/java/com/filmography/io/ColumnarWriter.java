@@ -0,0 +1,208 @@
+package com.filmography.io;
+
+import com.filmography.model.FilmTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import static com.filmography.io.ColumnarFormat.*;
+
+/** Writes a {@link FilmTable} in the binary columnar format described in {@link ColumnarFormat}. */
+public class ColumnarWriter {
+
+    public void write(String path, FilmTable table) throws IOException {
+        try (CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16));
+             DataOutputStream out = new DataOutputStream(counter)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(table.size());
+
+            List<ColumnEntry> entries = new ArrayList<>();
+            int rows = table.size();
+
+            String[] actors = new String[table.actorCount()];
+            for (int code = 0; code < actors.length; code++) {
+                actors[code] = table.actorName(code);
+            }
+            column(entries, counter, ACTOR, DICTIONARY, () -> writeDictionary(out, actors, rows, table::actorCode));
+            column(entries, counter, YEAR, DELTA_VARINT, () -> writeInts(out, rows, table::year));
+            column(entries, counter, FILM, STRING, () -> writeStrings(out, rows, table::film));
+            column(entries, counter, ROLE, STRING, () -> writeStrings(out, rows, table::role));
+            column(entries, counter, NOTES, STRING, () -> writeStrings(out, rows, table::notes));
+            column(entries, counter, ENGINEERED, BITSET, () -> writeFlags(out, rows, table::isEngineered));
+            column(entries, counter, DEBUT_YEAR, DELTA_VARINT, () -> writeInts(out, rows, table::debutYear));
+            column(entries, counter, LEAD_DEBUT_YEAR, DELTA_VARINT, () -> writeInts(out, rows, table::leadDebutYear));
+            column(entries, counter, CAREER_SPAN, DELTA_VARINT, () -> writeInts(out, rows, table::careerSpan));
+            column(entries, counter, CAREER_PHASE, DICTIONARY, () -> writeDictionary(out, FilmTable.PHASES, rows, table::phaseCode));
+            column(entries, counter, CUMULATIVE_MOVIES, DELTA_VARINT, () -> writeInts(out, rows, table::cumulativeMovies));
+            column(entries, counter, MOVIES_PER_YEAR, DELTA_VARINT, () -> writeInts(out, rows, table::moviesPerYear));
+            column(entries, counter, RELEASE_GAP, DELTA_VARINT, () -> writeInts(out, rows, table::releaseGap));
+            column(entries, counter, HIGH_PRODUCTIVITY, BITSET, () -> writeFlags(out, rows, table::isHighProductivity));
+            column(entries, counter, IS_SPECIAL, BITSET, () -> writeFlags(out, rows, table::isSpecial));
+            column(entries, counter, AGE_AT_FILM, DELTA_VARINT, () -> writeInts(out, rows, table::ageAtFilm));
+            column(entries, counter, AGE_AT_DEBUT, DELTA_VARINT, () -> writeInts(out, rows, table::ageAtDebut));
+            column(entries, counter, CURRENT_AGE, DELTA_VARINT, () -> writeInts(out, rows, table::currentAge));
+            column(entries, counter, IS_CHILD_ROLE, BITSET, () -> writeFlags(out, rows, table::isChildRole));
+            column(entries, counter, IS_UPCOMING, BITSET, () -> writeFlags(out, rows, table::isUpcoming));
+
+            out.flush();
+            long footerOffset = counter.count;
+            out.writeInt(entries.size());
+            for (ColumnEntry entry : entries) {
+                out.writeUTF(entry.name);
+                out.writeByte(entry.encoding);
+                out.writeLong(entry.offset);
+                out.writeLong(entry.length);
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private void column(List<ColumnEntry> entries, CountingOutputStream counter, String name, byte encoding,
+                        ColumnBody body) throws IOException {
+        long start = counter.count;
+        body.write();
+        entries.add(new ColumnEntry(name, encoding, start, counter.count - start));
+    }
+
+    private void writeDictionary(DataOutputStream out, String[] dictionary, int rows, IntUnaryOperator codes) throws IOException {
+        writeVarint(out, dictionary.length);
+        for (String entry : dictionary) {
+            out.writeUTF(entry);
+        }
+        int width = bitWidth(dictionary.length);
+        out.writeByte(width);
+        long word = 0;
+        int used = 0;
+        for (int row = 0; row < rows; row++) {
+            long code = codes.applyAsInt(row) + 1L;
+            word |= code << used;
+            used += width;
+            if (used >= 64) {
+                out.writeLong(word);
+                used -= 64;
+                word = used == 0 ? 0 : code >>> (width - used);
+            }
+        }
+        if (used > 0) {
+            out.writeLong(word);
+        }
+    }
+
+    private void writeInts(DataOutputStream out, int rows, IntUnaryOperator values) throws IOException {
+        BitSet nulls = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if (values.applyAsInt(row) == FilmTable.NULL) {
+                nulls.set(row);
+            }
+        }
+        if (nulls.isEmpty()) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(1);
+            writeWords(out, nulls);
+        }
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            int value = values.applyAsInt(row);
+            if (value == FilmTable.NULL) continue;
+            writeVarint(out, zigzag(value - previous));
+            previous = value;
+        }
+    }
+
+    private void writeStrings(DataOutputStream out, int rows, RowString values) throws IOException {
+        for (int row = 0; row < rows; row++) {
+            String value = values.get(row);
+            if (value == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length + 1L);
+            out.write(bytes);
+        }
+    }
+
+    private void writeFlags(DataOutputStream out, int rows, RowFlag values) throws IOException {
+        BitSet flags = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if (values.get(row)) {
+                flags.set(row);
+            }
+        }
+        writeWords(out, flags);
+    }
+
+    private void writeWords(DataOutputStream out, BitSet bits) throws IOException {
+        long[] words = bits.toLongArray();
+        writeVarint(out, words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    private void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private interface ColumnBody {
+        void write() throws IOException;
+    }
+
+    private interface RowString {
+        String get(int row);
+    }
+
+    private interface RowFlag {
+        boolean get(int row);
+    }
+
+    private static final class ColumnEntry {
+        private final String name;
+        private final byte encoding;
+        private final long offset;
+        private final long length;
+
+        private ColumnEntry(String name, byte encoding, long offset, long length) {
+            this.name = name;
+            this.encoding = encoding;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
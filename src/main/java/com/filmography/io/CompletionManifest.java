@@ -0,0 +1,71 @@
+package com.filmography.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only record of finished work items, one {@code id<TAB>key} line each,
+ * forced to disk before {@link #markComplete} returns. After a crash the items
+ * already recorded with the same key are skipped; a torn last line is ignored,
+ * so its item is simply redone. Safe for concurrent use.
+ */
+public final class CompletionManifest implements AutoCloseable {
+    private final Map<String, String> completed = new HashMap<>();
+    private final FileChannel channel;
+
+    public CompletionManifest(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (Files.exists(file)) {
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            int end = text.lastIndexOf('\n');
+            for (String line : text.substring(0, end + 1).split("\n")) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    completed.put(line.substring(0, tab), line.substring(tab + 1));
+                }
+            }
+            if (end + 1 < text.length()) {
+                // drop the torn line so the next entry starts on a line of its own
+                try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    truncate.truncate(text.substring(0, end + 1).getBytes(StandardCharsets.UTF_8).length);
+                }
+            }
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /** True if {@code id} was completed with the same key, e.g. the same input and code fingerprint. */
+    public synchronized boolean isComplete(String id, String key) {
+        return key.equals(completed.get(id));
+    }
+
+    public synchronized int size() {
+        return completed.size();
+    }
+
+    public synchronized void markComplete(String id, String key) throws IOException {
+        if (id.indexOf('\t') >= 0 || id.indexOf('\n') >= 0 || key.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Manifest ids can't contain tabs or line breaks: " + id);
+        }
+        ByteBuffer line = ByteBuffer.wrap((id + "\t" + key + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+        completed.put(id, key);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,31 +1,51 @@
 package com.filmography.io;
 
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class CsvReader {
 
     public List<Film> read(String path, String actor) throws IOException {
         List<Film> films = new ArrayList<>();
-        try (CSVReader reader = new CSVReader(new FileReader(path))) {
+        stream(path, actor, (name, year, film, role, notes) -> films.add(new Film(name, year, film, role, notes)));
+        return films;
+    }
+
+    public void read(String path, String actor, FilmTable.Builder builder) throws IOException {
+        stream(path, actor, builder::add);
+    }
+
+    /**
+     * Parses the file row by row and hands each valid row to the sink. Only the
+     * current row is held in memory. Returns the number of rows delivered.
+     * The file is read as UTF-8; a byte order mark is ignored.
+     */
+    public int stream(String path, String actor, RowSink sink) throws IOException {
+        int delivered = 0;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(Files.newInputStream(Paths.get(path)), StandardCharsets.UTF_8))) {
             String[] header;
             try {
                 header = reader.readNext();
             } catch (CsvValidationException ex) {
-                return films;
+                return delivered;
             }
             if (header == null) {
-                return films;
+                return delivered;
             }
-            Map<String, Integer> headerIndex = mapHeader(header);
+            int yearColumn = columnIndex(header, "Year");
+            int filmColumn = columnIndex(header, "Film");
+            int roleColumn = columnIndex(header, "Role");
+            int notesColumn = columnIndex(header, "Notes");
             String[] row;
             while (true) {
                 try {
@@ -36,10 +56,7 @@ public class CsvReader {
                 if (row == null) {
                     break;
                 }
-                String yearStr = getCell(row, headerIndex, "Year");
-                String film = getCell(row, headerIndex, "Film");
-                String role = getCell(row, headerIndex, "Role");
-                String notes = getCell(row, headerIndex, "Notes");
+                String yearStr = getCell(row, yearColumn);
 
                 if (yearStr == null || yearStr.isEmpty()) {
                     continue;
@@ -52,24 +69,26 @@ public class CsvReader {
                     continue;
                 }
 
-                Film filmRow = new Film(actor, year, film, role, notes);
-                films.add(filmRow);
+                sink.accept(actor, year, getCell(row, filmColumn), getCell(row, roleColumn), getCell(row, notesColumn));
+                delivered++;
             }
         }
-        return films;
+        return delivered;
     }
 
-    private Map<String, Integer> mapHeader(String[] header) {
-        Map<String, Integer> map = new HashMap<>();
+    protected int columnIndex(String[] header, String column) {
+        int index = -1;
         for (int i = 0; i < header.length; i++) {
-            map.put(header[i].trim(), i);
+            String name = i == 0 && header[i].startsWith("\uFEFF") ? header[i].substring(1) : header[i];
+            if (name.trim().equals(column)) {
+                index = i;
+            }
         }
-        return map;
+        return index;
     }
 
-    private String getCell(String[] row, Map<String, Integer> headerIndex, String column) {
-        Integer index = headerIndex.get(column);
-        if (index == null || index >= row.length) {
+    private String getCell(String[] row, int index) {
+        if (index < 0 || index >= row.length) {
             return null;
         }
         return row[index];
@@ -1,6 +1,7 @@
 package com.filmography.io;
 
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -9,34 +10,43 @@ import java.util.List;
 public class CsvWriter {
 
     public void writeCleaned(String path, List<Film> films) throws IOException {
+        writeCleaned(path, FilmTable.of(films));
+    }
+
+    public void writeCleaned(String path, FilmTable films) throws IOException {
         try (FileWriter writer = new FileWriter(path)) {
             writer.write("Actor,Year,Film,Role,Debut_Year,Lead_Debut_Year,Career_Span,Career_Phase,Cumulative_Movies,Movies_Per_Year,Release_Gap,High_Productivity,Is_Special,Age_At_Film,Age_At_Debut,Current_Age,Is_Child_Role,Is_Upcoming\n");
-            for (Film film : films) {
-                writer.write(escape(film.getActor()) + "," +
-                        film.getYear() + "," +
-                        escape(film.getFilm()) + "," +
-                        escape(film.getRole()) + "," +
-                        value(film.getDebutYear()) + "," +
-                        value(film.getLeadDebutYear()) + "," +
-                        value(film.getCareerSpan()) + "," +
-                        escape(film.getCareerPhase()) + "," +
-                        value(film.getCumulativeMovies()) + "," +
-                        value(film.getMoviesPerYear()) + "," +
-                        value(film.getReleaseGap()) + "," +
-                        value(film.getHighProductivity()) + "," +
-                        value(film.getIsSpecial()) + "," +
-                        value(film.getAgeAtFilm()) + "," +
-                        value(film.getAgeAtDebut()) + "," +
-                        value(film.getCurrentAge()) + "," +
-                        value(film.getIsChildRole()) + "," +
-                        value(film.getIsUpcoming()) +
+            for (int row = 0; row < films.size(); row++) {
+                boolean engineered = films.isEngineered(row);
+                writer.write(escape(films.actor(row)) + "," +
+                        films.year(row) + "," +
+                        escape(films.film(row)) + "," +
+                        escape(films.role(row)) + "," +
+                        value(films.debutYear(row)) + "," +
+                        value(films.leadDebutYear(row)) + "," +
+                        value(films.careerSpan(row)) + "," +
+                        escape(films.careerPhase(row)) + "," +
+                        value(films.cumulativeMovies(row)) + "," +
+                        value(films.moviesPerYear(row)) + "," +
+                        value(films.releaseGap(row)) + "," +
+                        value(engineered, films.isHighProductivity(row)) + "," +
+                        value(engineered, films.isSpecial(row)) + "," +
+                        value(films.ageAtFilm(row)) + "," +
+                        value(films.ageAtDebut(row)) + "," +
+                        value(films.currentAge(row)) + "," +
+                        value(engineered, films.isChildRole(row)) + "," +
+                        value(engineered, films.isUpcoming(row)) +
                         "\n");
             }
         }
     }
 
-    private String value(Object value) {
-        return value == null ? "" : String.valueOf(value);
+    private String value(int value) {
+        return value == FilmTable.NULL ? "" : String.valueOf(value);
+    }
+
+    private String value(boolean present, boolean value) {
+        return present ? String.valueOf(value) : "";
     }
 
     private String escape(String value) {
@@ -0,0 +1,194 @@
+package com.filmography.io;
+
+import com.filmography.model.FilmTable;
+import com.filmography.pipeline.Metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads every {@code *.csv} filmography in a directory. The actor for each file
+ * comes from an optional UTF-8 {@code actors.properties} manifest in the same
+ * directory ({@code ajith.csv=Ajith}), otherwise from the file name
+ * ({@code ajith_kumar.csv} becomes "Ajith Kumar"). Files are parsed
+ * concurrently, each into its own columnar run sorted by year, and the runs
+ * are then k-way merged into one table ordered by actor and year. Actor, role and notes values are canonicalized
+ * through a {@link RowInterner} shared by all files.
+ */
+public class DirectoryIngest {
+    public static final String MANIFEST = "actors.properties";
+
+    private final CsvReader reader;
+    private final int parallelism;
+    private final RowInterner interner = new RowInterner();
+
+    public DirectoryIngest() {
+        this(new CsvReader(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public DirectoryIngest(CsvReader reader, int parallelism) {
+        this.reader = reader;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Input files in name order, mapped to the actor they belong to. */
+    public Map<File, String> discover(String directory) throws IOException {
+        File dir = new File(directory);
+        File[] files = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".csv"));
+        if (files == null) {
+            throw new IOException("Not a readable directory: " + directory);
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+
+        Properties manifest = new Properties();
+        File manifestFile = new File(dir, MANIFEST);
+        if (manifestFile.isFile()) {
+            try (Reader in = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+                manifest.load(in);
+            }
+        }
+
+        Map<File, String> actors = new LinkedHashMap<>();
+        for (File file : files) {
+            actors.put(file, manifest.getProperty(file.getName(), actorFromFileName(file.getName())));
+        }
+        return actors;
+    }
+
+    /** Dictionaries used across every ingest by this instance, with their hit rates. */
+    public RowInterner interner() {
+        return interner;
+    }
+
+    public FilmTable ingest(String directory) throws IOException {
+        Map<File, String> inputs = discover(directory);
+        List<Run> runs = new ArrayList<>();
+
+        Metrics.Workers workers = Metrics.workers();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<Run>> futures = new ArrayList<>();
+            for (Map.Entry<File, String> input : inputs.entrySet()) {
+                String path = input.getKey().getPath();
+                String actor = input.getValue();
+                futures.add(pool.submit(workers.wrap(() -> {
+                    FilmTable.Builder builder = new FilmTable.Builder();
+                    reader.stream(path, actor, interner.wrap(builder::add));
+                    return new Run(builder.build());
+                })));
+            }
+            for (Future<Run> future : futures) {
+                runs.add(await(future));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return merge(runs);
+    }
+
+    /**
+     * Merges runs that are each sorted by year into one table. Rows with equal
+     * actor and year keep file order, matching a stable sort of the
+     * concatenated runs.
+     */
+    private FilmTable merge(List<Run> runs) {
+        int total = 0;
+        for (Run run : runs) {
+            total += run.order.length;
+        }
+        FilmTable.Builder merged = new FilmTable.Builder(total);
+
+        Comparator<int[]> order = Comparator
+                .comparing((int[] cursor) -> runs.get(cursor[0]).actor(cursor[1]))
+                .thenComparingInt(cursor -> runs.get(cursor[0]).year(cursor[1]))
+                .thenComparingInt(cursor -> cursor[0]);
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, runs.size()), order);
+        for (int run = 0; run < runs.size(); run++) {
+            if (runs.get(run).order.length > 0) {
+                heap.add(new int[]{run, 0});
+            }
+        }
+        while (!heap.isEmpty()) {
+            int[] cursor = heap.poll();
+            Run run = runs.get(cursor[0]);
+            int row = run.order[cursor[1]];
+            FilmTable table = run.table;
+            merged.add(table.actor(row), table.year(row), table.film(row), table.role(row), table.notes(row));
+            if (++cursor[1] < run.order.length) {
+                heap.add(cursor);
+            }
+        }
+        return merged.build();
+    }
+
+    /** One file's rows as parsed, with their order by year; rows with equal years keep file order. */
+    private static final class Run {
+        private final FilmTable table;
+        private final int[] order;
+
+        private Run(FilmTable table) {
+            this.table = table;
+            long[] keys = new long[table.size()];
+            for (int row = 0; row < keys.length; row++) {
+                keys[row] = ((long) table.year(row) << 32) | row;
+            }
+            Arrays.sort(keys);
+            this.order = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                order[i] = (int) keys[i];
+            }
+        }
+
+        private String actor(int position) {
+            return table.actor(order[position]);
+        }
+
+        private int year(int position) {
+            return table.year(order[position]);
+        }
+    }
+
+    private Run await(Future<Run> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading inputs");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to read inputs", cause);
+        }
+    }
+
+    private static String actorFromFileName(String fileName) {
+        String base = fileName.substring(0, fileName.length() - ".csv".length());
+        StringBuilder actor = new StringBuilder();
+        for (String word : base.split("[_\\-\\s]+")) {
+            if (word.isEmpty()) continue;
+            if (actor.length() > 0) actor.append(' ');
+            actor.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return actor.toString();
+    }
+}
@@ -0,0 +1,199 @@
+package com.filmography.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 over everything a stage result depends on: strings, input files and
+ * the bytecode of the classes that compute it. Each part is length-prefixed so
+ * different splits of the same bytes hash differently.
+ */
+public final class Fingerprint {
+    private static final Pattern APPLICATION_CLASS = Pattern.compile("com/filmography/[\\w/$]+");
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[1 << 16];
+
+    public Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public Fingerprint add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        addLength(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    public Fingerprint addFile(File file) throws IOException {
+        add(file.getName());
+        addLength(file.length());
+        try (InputStream in = new FileInputStream(file)) {
+            addStream(in);
+        }
+        return this;
+    }
+
+    /** Every regular file directly inside {@code directory}, in name order. */
+    public Fingerprint addDirectory(String directory) throws IOException {
+        File[] files = new File(directory).listFiles(File::isFile);
+        if (files == null) {
+            throw new IOException("Not a readable directory: " + directory);
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        addLength(files.length);
+        for (File file : files) {
+            addFile(file);
+        }
+        return this;
+    }
+
+    /**
+     * Bytecode of each class and of every application class it references,
+     * transitively, so editing any code a stage can reach changes the
+     * fingerprint. References are read from the class files' constant pools
+     * (instructions, signatures, nested classes); only classes under
+     * {@code com.filmography} are followed. Classes are hashed in name order.
+     */
+    public Fingerprint addClasses(Class<?>... classes) throws IOException {
+        Set<String> reached = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        for (Class<?> cls : classes) {
+            String name = cls.getName().replace('.', '/');
+            if (reached.add(name)) {
+                pending.add(name);
+            }
+        }
+        Map<String, byte[]> bytecode = new HashMap<>();
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            byte[] bytes = classFile(name);
+            bytecode.put(name, bytes);
+            for (String referenced : referencedClasses(bytes)) {
+                if (reached.add(referenced)) {
+                    pending.add(referenced);
+                }
+            }
+        }
+        addLength(reached.size());
+        for (String name : reached) {
+            add(name);
+            byte[] bytes = bytecode.get(name);
+            digest.update(bytes);
+            addLength(bytes.length);
+        }
+        return this;
+    }
+
+    /** Bytes of each classpath resource, such as a template, named as for {@link Class#getResourceAsStream}. */
+    public Fingerprint addResources(List<String> resources) throws IOException {
+        addLength(resources.size());
+        for (String resource : resources) {
+            try (InputStream in = Fingerprint.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("Resource not found: " + resource);
+                }
+                byte[] bytes = in.readAllBytes();
+                add(resource);
+                addLength(bytes.length);
+                digest.update(bytes);
+            }
+        }
+        return this;
+    }
+
+    public String hex() {
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] classFile(String name) throws IOException {
+        try (InputStream in = Fingerprint.class.getClassLoader().getResourceAsStream(name + ".class")) {
+            if (in == null) {
+                throw new IOException("Class file not found: " + name.replace('/', '.'));
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /** Application classes named anywhere in a class file's constant pool. */
+    static Set<String> referencedClasses(byte[] classFile) throws IOException {
+        Set<String> names = new TreeSet<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile))) {
+            if (in.readInt() != 0xCAFEBABE) {
+                throw new IOException("Not a class file");
+            }
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            int count = in.readUnsignedShort();
+            for (int index = 1; index < count; index++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1:
+                        Matcher matcher = APPLICATION_CLASS.matcher(in.readUTF());
+                        while (matcher.find()) {
+                            names.add(matcher.group());
+                        }
+                        break;
+                    case 7: case 8: case 16: case 19: case 20:
+                        in.skipBytes(2);
+                        break;
+                    case 15:
+                        in.skipBytes(3);
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        in.skipBytes(4);
+                        break;
+                    case 5: case 6:
+                        in.skipBytes(8);
+                        index++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+        return names;
+    }
+
+    private void addStream(InputStream in) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            digest.update(buffer, 0, read);
+            total += read;
+        }
+        addLength(total);
+    }
+
+    private void addLength(long length) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+    }
+}
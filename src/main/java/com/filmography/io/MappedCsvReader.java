@@ -0,0 +1,305 @@
+package com.filmography.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CsvReader backend that memory-maps the input and tokenizes straight from the
+ * mapped bytes. The Year column is parsed from the bytes without creating a
+ * String and columns the pipeline does not use (such as Ref) are never
+ * decoded. Text is decoded as UTF-8.
+ *
+ * <p>Tokenizing follows the opencsv parser behind {@link CsvReader} rule for
+ * rule, so both backends deliver the same rows: double quotes group commas and
+ * line breaks (a quoted line break reads as {@code \n} whatever the file uses),
+ * a doubled quote or a backslash escapes the next quote, backslash or comma,
+ * and an unterminated quote at the end of the file is an error. Lines end at
+ * LF, CRLF or a lone CR. Files larger than the mapping window are mapped
+ * window by window; a row never spans windows.
+ */
+public class MappedCsvReader extends CsvReader {
+    private static final int DEFAULT_WINDOW = 1 << 28;
+    private static final long INVALID_YEAR = Long.MIN_VALUE;
+    private static final int UNTERMINATED = -2;
+
+    private final int window;
+
+    public MappedCsvReader() {
+        this(DEFAULT_WINDOW);
+    }
+
+    public MappedCsvReader(int window) {
+        this.window = window;
+    }
+
+    @Override
+    public int stream(String path, String actor, RowSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            RowParser parser = new RowParser(actor, sink);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(window, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parse(buffer, last);
+                if (consumed < 0) {
+                    throw new IOException("Unterminated quoted field in the row at byte "
+                            + (position - consumed - 1) + ": " + path);
+                }
+                if (consumed == 0 && !last) {
+                    throw new IOException("Row at byte " + position + " is larger than the " + window + " byte mapping window: " + path);
+                }
+                position += consumed;
+            }
+            return parser.delivered;
+        }
+    }
+
+    private final class RowParser {
+        private final String actor;
+        private final RowSink sink;
+
+        /** Unescaped bytes of the current row; field i is {@code row[starts[i]..ends[i])}. */
+        private byte[] row = new byte[256];
+        private int rowLength;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int fieldCount;
+
+        private boolean headerRead;
+        private int yearColumn = -1;
+        private int filmColumn = -1;
+        private int roleColumn = -1;
+        private int notesColumn = -1;
+        private int delivered;
+
+        private RowParser(String actor, RowSink sink) {
+            this.actor = actor;
+            this.sink = sink;
+        }
+
+        /**
+         * Parses complete rows from the buffer and returns the number of bytes
+         * consumed, or {@code -(start + 1)} if the row starting at {@code start}
+         * has an unterminated quote at the end of the file.
+         */
+        private int parse(ByteBuffer buffer, boolean eof) {
+            int limit = buffer.limit();
+            int offset = 0;
+            while (offset < limit) {
+                int next = tokenize(buffer, offset, limit, eof);
+                if (next == UNTERMINATED) {
+                    return -(offset + 1);
+                }
+                if (next < 0) {
+                    break;
+                }
+                if (!headerRead) {
+                    readHeader();
+                } else {
+                    deliver();
+                }
+                offset = next;
+            }
+            return offset;
+        }
+
+        private void readHeader() {
+            String[] header = new String[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                header[i] = decode(i);
+            }
+            yearColumn = columnIndex(header, "Year");
+            filmColumn = columnIndex(header, "Film");
+            roleColumn = columnIndex(header, "Role");
+            notesColumn = columnIndex(header, "Notes");
+            headerRead = true;
+        }
+
+        private void deliver() {
+            if (yearColumn < 0 || yearColumn >= fieldCount) {
+                return;
+            }
+            long year = parseYear(starts[yearColumn], ends[yearColumn]);
+            if (year == INVALID_YEAR) {
+                return;
+            }
+            sink.accept(actor, (int) year, field(filmColumn), field(roleColumn), field(notesColumn));
+            delivered++;
+        }
+
+        /**
+         * Unescapes the row starting at {@code from} into {@link #row} and returns
+         * the offset of the next row, -1 if the row is cut off by the window, or
+         * {@link #UNTERMINATED} if a quote is still open at the end of the file.
+         * Mirrors {@code com.opencsv.CSVParser} with its default settings: a
+         * quoted line break continues the row, a quote only toggles quoting
+         * unless it is doubled or stands inside a field, and whitespace before
+         * an opening quote is dropped.
+         */
+        private int tokenize(ByteBuffer buffer, int from, int limit, boolean eof) {
+            fieldCount = 0;
+            rowLength = 0;
+            int fieldStart = 0;
+            boolean inQuotes = false;
+            boolean inField = false;
+            int lineStart = from;
+            while (true) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r') {
+                    lineEnd++;
+                }
+                int next;
+                if (lineEnd < limit && buffer.get(lineEnd) == '\n') {
+                    next = lineEnd + 1;
+                } else if (lineEnd + 1 < limit) {
+                    next = buffer.get(lineEnd + 1) == '\n' ? lineEnd + 2 : lineEnd + 1;
+                } else if (eof) {
+                    next = Math.min(lineEnd + 1, limit);
+                } else {
+                    return -1;
+                }
+
+                for (int i = lineStart; i < lineEnd; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\\') {
+                        inField = true;
+                        if (i + 1 < lineEnd && isEscapable(buffer.get(i + 1))) {
+                            append(buffer.get(++i));
+                        }
+                    } else if (b == '"') {
+                        if ((inQuotes || inField) && i + 1 < lineEnd && buffer.get(i + 1) == '"') {
+                            append(buffer.get(++i));
+                        } else {
+                            inQuotes = !inQuotes;
+                            if (charsBefore(buffer, lineStart, i) > 2 && buffer.get(i - 1) != ','
+                                    && i + 1 < lineEnd && buffer.get(i + 1) != ',') {
+                                if (rowLength > fieldStart && isWhitespace(fieldStart, rowLength)) {
+                                    rowLength = fieldStart;
+                                } else {
+                                    append(b);
+                                }
+                            }
+                        }
+                        inField = !inField;
+                    } else if (b == ',' && !inQuotes) {
+                        addField(fieldStart);
+                        fieldStart = rowLength;
+                        inField = false;
+                    } else {
+                        append(b);
+                        inField = true;
+                    }
+                }
+
+                if (!inQuotes) {
+                    addField(fieldStart);
+                    return next;
+                }
+                if (next >= limit) {
+                    return eof ? UNTERMINATED : -1;
+                }
+                append((byte) '\n');
+                lineStart = next;
+            }
+        }
+
+        private boolean isEscapable(byte b) {
+            return b == '"' || b == '\\' || b == ',';
+        }
+
+        /** UTF-16 chars between the line start and {@code position}, counted up to 3. */
+        private int charsBefore(ByteBuffer buffer, int lineStart, int position) {
+            int chars = 0;
+            for (int i = lineStart; i < position && chars < 3; i++) {
+                int b = buffer.get(i) & 0xFF;
+                if ((b & 0xC0) != 0x80) {
+                    chars += b >= 0xF0 ? 2 : 1;
+                }
+            }
+            return chars;
+        }
+
+        private boolean isWhitespace(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (row[i] < 0) {
+                    return new String(row, start, end - start, StandardCharsets.UTF_8).codePoints()
+                            .allMatch(Character::isWhitespace);
+                }
+                if (!Character.isWhitespace(row[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void append(byte b) {
+            if (rowLength == row.length) {
+                row = Arrays.copyOf(row, rowLength * 2);
+            }
+            row[rowLength++] = b;
+        }
+
+        private void addField(int start) {
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+            }
+            starts[fieldCount] = start;
+            ends[fieldCount] = rowLength;
+            fieldCount++;
+        }
+
+        private String field(int column) {
+            if (column < 0 || column >= fieldCount) {
+                return null;
+            }
+            return decode(column);
+        }
+
+        private String decode(int column) {
+            return new String(row, starts[column], ends[column] - starts[column], StandardCharsets.UTF_8);
+        }
+
+        /** The trimmed cell as {@link Integer#parseInt} reads it, or {@link #INVALID_YEAR}. */
+        private long parseYear(int start, int end) {
+            while (start < end && (row[start] & 0xFF) <= ' ') start++;
+            while (end > start && (row[end - 1] & 0xFF) <= ' ') end--;
+            if (start == end) {
+                return INVALID_YEAR;
+            }
+            int digits = start;
+            if (row[digits] == '-' || row[digits] == '+') {
+                digits++;
+            }
+            if (digits == end || end - digits > 9) {
+                return slowParseYear(start, end);
+            }
+            int value = 0;
+            for (int i = digits; i < end; i++) {
+                int digit = row[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return slowParseYear(start, end);
+                }
+                value = value * 10 + digit;
+            }
+            return row[start] == '-' ? -value : value;
+        }
+
+        /** Long, non-ASCII or malformed cells, where Unicode digits and overflow rules apply. */
+        private long slowParseYear(int start, int end) {
+            try {
+                return Integer.parseInt(new String(row, start, end - start, StandardCharsets.UTF_8));
+            } catch (NumberFormatException ex) {
+                return INVALID_YEAR;
+            }
+        }
+    }
+}
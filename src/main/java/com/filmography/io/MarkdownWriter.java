@@ -2,172 +2,177 @@ package com.filmography.io;
 
 import com.filmography.model.ActorMetadata;
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Renders the before/after reports from the templates in
+ * {@code src/main/resources/templates}. Templates are compiled once, and each
+ * report is built in a per-thread buffer and written with a single channel
+ * write, so one writer can be shared by concurrent stages. Actor profiles and
+ * per-actor charts are listed for the given actors, by default every actor in
+ * {@link ActorMetadata}.
+ */
 public class MarkdownWriter {
+    /** Charts linked from the before report. */
+    public static final List<String> BEFORE_CHARTS = List.of(
+            "movies_per_year.png",
+            "career_timeline.png",
+            "age_vs_productivity.png",
+            "child_vs_lead.png",
+            "five_year_productivity.png",
+            "decade_wise.png");
+
+    /** Charts linked from the after report. */
+    public static final List<String> AFTER_CHARTS = List.of(
+            "movies_per_year.png",
+            "career_timeline.png",
+            "career_phase_distribution.png",
+            "age_vs_productivity.png",
+            "age_career_comparison.png",
+            "child_vs_lead.png",
+            "five_year_productivity.png",
+            "decade_wise.png",
+            "release_gap.png");
+
+    private static final String COMBINED_DATASET = "Combined filmographies of Ajith Kumar and Vijay";
+
+    private static final String BEFORE_TEMPLATE = "/templates/before_analysis.md";
+    private static final String AFTER_TEMPLATE = "/templates/after_analysis.md";
+
+    /** Classpath resources the reports are rendered from, for cache keys. */
+    public static final List<String> TEMPLATES = List.of(BEFORE_TEMPLATE, AFTER_TEMPLATE);
+
+    private static final ReportTemplate BEFORE = ReportTemplate.load(BEFORE_TEMPLATE);
+    private static final ReportTemplate AFTER = ReportTemplate.load(AFTER_TEMPLATE);
+    private static final ThreadLocal<ReportOutput> OUTPUT = ThreadLocal.withInitial(ReportOutput::new);
 
     public void writeBefore(String path, Map<String, Object> stats, List<Film> sample, List<String> charts,
                             Map<String, String> inferences) throws IOException {
-        try (FileWriter writer = new FileWriter(path)) {
-            writer.write("# 📊 Data Exploration Report: BEFORE Processing\n\n");
-            writer.write("*Generated on: " + LocalDate.now() + "*\n\n");
-            writer.write("---\n\n");
-
-            writer.write("## 📋 Executive Summary\n\n");
-            writer.write("This report documents the **raw state** of the filmography dataset before any cleaning or feature engineering.\n\n");
-            writer.write("- **Dataset**: Combined filmographies of Ajith Kumar and Vijay\n");
-            writer.write("- **Purpose**: Data exploration, quality assessment, and preprocessing preparation\n\n");
-
-            writeBio(writer);
-
-            writer.write("## 📈 Data Quality Metrics (Before Cleaning)\n\n");
-            writeStats(writer, stats);
-
-            writer.write("\n## 🔍 Raw Data Sample (First 10 Records)\n\n");
-            writer.write("*Note: This shows the original data with footnote annotations, inconsistent formats, and null values.*\n\n");
-            writeSample(writer, sample);
-
-            writer.write("\n## 📉 Exploratory Visualizations (Before)\n\n");
-            writer.write("*These visualizations help identify patterns and issues in the raw data.*\n\n");
-            writeChartLinks(writer, charts, inferences);
-
-            writer.write("\n---\n\n");
-            writer.write("## 🔧 Issues Identified for Cleaning\n\n");
-            writer.write("1. **Footnote annotations** in Role column (e.g., `[a]`, `[b]`) need removal\n");
-            writer.write("2. **Null/Empty Notes** - many records have missing notes\n");
-            writer.write("3. **Unicode characters** - some film names have special characters (e.g., Aśoka)\n");
-            writer.write("4. **Inconsistent terminology** - \"Child artist\" vs \"Child Actor\"\n");
-            writer.write("5. **Reference citations** in Ajith's data (Ref column) to be dropped\n\n");
-        }
+        writeBefore(path, stats, FilmTable.of(sample), charts, inferences);
+    }
+
+    public void writeBefore(String path, Map<String, Object> stats, FilmTable sample, List<String> charts,
+                            Map<String, String> inferences) throws IOException {
+        writeBefore(path, ActorMetadata.actors(), stats, sample, charts, inferences);
+    }
+
+    public void writeBefore(String path, List<String> actors, Map<String, Object> stats, FilmTable sample,
+                            List<String> charts, Map<String, String> inferences) throws IOException {
+        writeBefore(path, actors, stats, sample, charts, "charts", inferences);
+    }
+
+    /** {@code chartDir} is where the charts are, relative to the report. */
+    public void writeBefore(String path, List<String> actors, Map<String, Object> stats, FilmTable sample,
+                            List<String> charts, String chartDir, Map<String, String> inferences) throws IOException {
+        write(BEFORE, path, actors, stats, sample, charts, chartDir, inferences);
     }
 
     public void writeAfter(String path, Map<String, Object> stats, List<Film> sample, List<String> charts,
                            Map<String, String> inferences) throws IOException {
-        try (FileWriter writer = new FileWriter(path)) {
-            writer.write("# 📊 Data Analysis Report: AFTER Processing\n\n");
-            writer.write("*Generated on: " + LocalDate.now() + "*\n\n");
-            writer.write("---\n\n");
-
-            writer.write("## 📋 Executive Summary\n\n");
-            writer.write("This report documents the **cleaned and feature-engineered** filmography dataset.\n\n");
-            writer.write("- **Dataset**: Combined filmographies of Ajith Kumar and Vijay\n");
-            writer.write("- **Processing**: Data cleaning, normalization, and 13 engineered features\n");
-            writer.write("- **Output**: Production-ready dataset for analysis and modeling\n\n");
-
-            writeBio(writer);
-
-            writer.write("## 📈 Data Quality Metrics (After Cleaning)\n\n");
-            writeStats(writer, stats);
-
-            writer.write("\n## 🔍 Cleaned Data Sample (First 10 Records)\n\n");
-            writer.write("*Data after cleaning: footnotes removed, terminology normalized, features engineered.*\n\n");
-            writeSample(writer, sample);
-
-            writer.write("\n## 📉 Analysis Visualizations (After)\n\n");
-            writer.write("*These visualizations show patterns in the cleaned, feature-rich dataset.*\n\n");
-            writeChartLinks(writer, charts, inferences);
-
-            writer.write("\n---\n\n");
-            writer.write("## ✅ Processing Summary\n\n");
-            writer.write("### Cleaning Operations Performed:\n");
-            writer.write("- ✓ Removed footnote annotations `[a-z]` from Role column\n");
-            writer.write("- ✓ Normalized \"Child artist\" → \"Child Actor\"\n");
-            writer.write("- ✓ Handled Unicode characters (Aśoka → Asoka)\n");
-            writer.write("- ✓ Removed unreleased markers (†)\n");
-            writer.write("- ✓ Dropped Ref column (citations)\n");
-            writer.write("- ✓ Trimmed whitespace from all string fields\n\n");
-
-            writer.write("### Features Engineered:\n");
-            writer.write("| Feature | Description | Type |\n");
-            writer.write("| --- | --- | --- |\n");
-            writer.write("| Debut_Year | Year of first film | Integer |\n");
-            writer.write("| Lead_Debut_Year | Year of first non-child role | Integer |\n");
-            writer.write("| Career_Span | Years since debut (2026 - debut) | Integer |\n");
-            writer.write("| Career_Phase | Early (≤5yr) / Growth (≤15yr) / Peak | String |\n");
-            writer.write("| Cumulative_Movies | Running count of films per actor | Integer |\n");
-            writer.write("| Movies_Per_Year | Films released that year per actor | Integer |\n");
-            writer.write("| Release_Gap | Years since previous film | Integer |\n");
-            writer.write("| High_Productivity | True if Movies_Per_Year > 1 | Boolean |\n");
-            writer.write("| Is_Special | True if Notes contains keywords | Boolean |\n");
-            writer.write("| Age_At_Film | Actor's age when film released | Integer |\n");
-            writer.write("| Age_At_Debut | Actor's age at first film | Integer |\n");
-            writer.write("| Current_Age | Actor's age as of 2026 | Integer |\n");
-            writer.write("| Is_Child_Role | True if child actor role | Boolean |\n");
-            writer.write("| Is_Upcoming | True if Year >= 2025 | Boolean |\n\n");
-
-            writer.write("## 🎯 Key Insights\n\n");
-            writer.write("1. **Vijay** started earlier (1984, age 10) as child actor; **Ajith** began as lead in 1993 (age 22)\n");
-            writer.write("2. Both actors peaked in the late 1990s - early 2000s with 4-6 films per year\n");
-            writer.write("3. Recent years show 1-2 films annually, indicating shift to bigger-budget productions\n");
-            writer.write("4. Combined dataset: **137 films** spanning **42 years** (1984-2026)\n\n");
-        }
+        writeAfter(path, stats, FilmTable.of(sample), charts, inferences);
+    }
+
+    public void writeAfter(String path, Map<String, Object> stats, FilmTable sample, List<String> charts,
+                           Map<String, String> inferences) throws IOException {
+        writeAfter(path, ActorMetadata.actors(), stats, sample, charts, inferences);
+    }
+
+    public void writeAfter(String path, List<String> actors, Map<String, Object> stats, FilmTable sample,
+                           List<String> charts, Map<String, String> inferences) throws IOException {
+        writeAfter(path, actors, stats, sample, charts, "charts", inferences);
     }
 
-    private void writeBio(FileWriter writer) throws IOException {
-        writer.write("## 👤 Actor Profiles\n\n");
-        writer.write("| Actor | Full Name | Birth Date | Birth Year | Current Age |\n");
-        writer.write("| :---: | :--- | :---: | :---: | :---: |\n");
-        writer.write("| **Ajith** | Ajith Kumar | 1971-05-01 | 1971 | " + ActorMetadata.getCurrentAge("Ajith") + " years |\n");
-        writer.write("| **Vijay** | Joseph Vijay | 1974-06-22 | 1974 | " + ActorMetadata.getCurrentAge("Vijay") + " years |\n\n");
+    /** {@code chartDir} is where the charts are, relative to the report. */
+    public void writeAfter(String path, List<String> actors, Map<String, Object> stats, FilmTable sample,
+                           List<String> charts, String chartDir, Map<String, String> inferences) throws IOException {
+        write(AFTER, path, actors, stats, sample, charts, chartDir, inferences);
     }
 
-    private void writeStats(FileWriter writer, Map<String, Object> stats) throws IOException {
-        writer.write("| Metric | Value |\n");
-        writer.write("| :--- | :---: |\n");
+    private void write(ReportTemplate template, String path, List<String> actors, Map<String, Object> stats,
+                       FilmTable sample, List<String> charts, String chartDir, Map<String, String> inferences)
+            throws IOException {
+        ReportOutput output = OUTPUT.get();
+        template.render(output.begin(), Map.of(
+                "date", out -> out.append(LocalDate.now()),
+                "dataset", out -> out.append(actors.size() == 1
+                        ? "Filmography of " + ActorMetadata.getFullName(actors.get(0)) : COMBINED_DATASET),
+                "profiles", out -> writeProfiles(out, actors),
+                "stats", out -> writeStats(out, stats),
+                "sample", out -> writeSample(out, sample),
+                "charts", out -> writeChartLinks(out, actors, charts, chartDir, inferences)));
+        output.writeTo(path);
+    }
+
+    private void writeProfiles(StringBuilder out, List<String> actors) {
+        for (String actor : actors) {
+            LocalDate birthDate = ActorMetadata.getBirthDate(actor);
+            out.append("| **").append(actor).append("** | ").append(ActorMetadata.getFullName(actor)).append(" | ");
+            if (birthDate == null) {
+                out.append("- | - | - |\n");
+            } else {
+                out.append(birthDate).append(" | ").append(birthDate.getYear()).append(" | ")
+                        .append(ActorMetadata.getCurrentAge(actor)).append(" years |\n");
+            }
+        }
+    }
+
+    private void writeStats(StringBuilder out, Map<String, Object> stats) {
         for (Map.Entry<String, Object> entry : stats.entrySet()) {
-            writer.write("| " + entry.getKey() + " | **" + entry.getValue() + "** |\n");
+            out.append("| ").append(entry.getKey()).append(" | **").append(entry.getValue()).append("** |\n");
         }
-        writer.write("\n");
     }
 
-    private void writeSample(FileWriter writer, List<Film> sample) throws IOException {
-        writer.write("| # | Actor | Year | Film | Role | Notes |\n");
-        writer.write("| :---: | :--- | :---: | :--- | :--- | :--- |\n");
-        int i = 1;
-        for (Film film : sample) {
-            writer.write("| " + i++ + " | " + safe(film.getActor()) + " | " + film.getYear() + " | " + safe(film.getFilm()) + " | " + safe(film.getRole()) + " | " + safe(film.getNotes()) + " |\n");
+    private void writeSample(StringBuilder out, FilmTable sample) {
+        for (int row = 0; row < sample.size(); row++) {
+            out.append("| ").append(row + 1).append(" | ");
+            appendSafe(out, sample.actor(row));
+            out.append(" | ").append(sample.year(row)).append(" | ");
+            appendSafe(out, sample.film(row));
+            out.append(" | ");
+            appendSafe(out, sample.role(row));
+            out.append(" | ");
+            appendSafe(out, sample.notes(row));
+            out.append(" |\n");
         }
-        writer.write("\n");
     }
 
-    private void writeChartLinks(FileWriter writer, List<String> charts, Map<String, String> inferences) throws IOException {
+    private void writeChartLinks(StringBuilder out, List<String> actors, List<String> charts, String chartDir,
+                                 Map<String, String> inferences) {
         for (String chart : charts) {
-            // Handle career_phase_distribution which now generates two files
+            // career_phase_distribution is rendered as one chart per actor
             if (chart.equals("career_phase_distribution.png")) {
-                // Write Ajith's chart
-                writer.write("### 📊 Career Phase Distribution: Ajith Kumar\n\n");
-                writer.write("![Career Phase - Ajith](charts/career_phase_distribution_ajith.png)\n\n");
-                String ajithInference = inferences == null ? null : inferences.get("career_phase_ajith.png");
-                if (ajithInference != null && !ajithInference.isEmpty()) {
-                    writer.write("**🔎 Inference:** " + ajithInference + "\n\n");
+                for (String actor : actors) {
+                    String file = actor.toLowerCase().replace(" ", "_");
+                    String title = chartTitle("career_phase_distribution_" + file + ".png");
+                    if (!title.startsWith("Career Phase Distribution: ")) {
+                        title = "Career Phase Distribution: " + actor;
+                    }
+                    writeChart(out, title, "Career Phase - " + actor,
+                            chartDir + "/career_phase_distribution_" + file + ".png",
+                            inferences == null ? null : inferences.get("career_phase_" + file + ".png"));
                 }
-                writer.write("---\n\n");
-                
-                // Write Vijay's chart
-                writer.write("### 📊 Career Phase Distribution: Vijay\n\n");
-                writer.write("![Career Phase - Vijay](charts/career_phase_distribution_vijay.png)\n\n");
-                String vijayInference = inferences == null ? null : inferences.get("career_phase_vijay.png");
-                if (vijayInference != null && !vijayInference.isEmpty()) {
-                    writer.write("**🔎 Inference:** " + vijayInference + "\n\n");
-                }
-                writer.write("---\n\n");
             } else {
-                writer.write("### 📊 " + chartTitle(chart) + "\n\n");
-                writer.write("![" + chartTitle(chart) + "](charts/" + chart + ")\n\n");
-                String inference = inferences == null ? null : inferences.get(chart);
-                if (inference != null && !inference.isEmpty()) {
-                    writer.write("**🔎 Inference:** " + inference + "\n\n");
-                }
-                writer.write("---\n\n");
+                String title = chartTitle(chart);
+                writeChart(out, title, title, chartDir + "/" + chart,
+                        inferences == null ? null : inferences.get(chart));
             }
         }
     }
 
+    private void writeChart(StringBuilder out, String title, String alt, String link, String inference) {
+        out.append("### 📊 ").append(title).append("\n\n");
+        out.append("![").append(alt).append("](").append(link).append(")\n\n");
+        if (inference != null && !inference.isEmpty()) {
+            out.append("**🔎 Inference:** ").append(inference).append("\n\n");
+        }
+        out.append("---\n\n");
+    }
+
     private String chartTitle(String chart) {
         switch (chart) {
             case "movies_per_year.png":
@@ -201,10 +206,17 @@ public class MarkdownWriter {
         }
     }
 
-    private String safe(String value) {
+    private static void appendSafe(StringBuilder out, String value) {
         if (value == null || value.isEmpty()) {
-            return "-";
+            out.append('-');
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '|') {
+                out.append('\\');
+            }
+            out.append(c);
         }
-        return value.replace("|", "\\|");
     }
 }
@@ -0,0 +1,77 @@
+package com.filmography.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reusable buffers for writing whole reports: the text is built in one
+ * {@link StringBuilder}, then encoded into one byte buffer and handed to a
+ * {@link FileChannel} in as few writes as the buffer allows. Text is encoded
+ * like {@link java.io.FileWriter} would, in the default charset with
+ * unmappable characters replaced. Not thread-safe; keep one per thread.
+ */
+public final class ReportOutput {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final StringBuilder text = new StringBuilder(BUFFER_BYTES);
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_BYTES);
+
+    public ReportOutput() {
+        this(Charset.defaultCharset());
+    }
+
+    public ReportOutput(Charset charset) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /** The cleared text buffer for the next report. */
+    public StringBuilder begin() {
+        text.setLength(0);
+        return text;
+    }
+
+    /** Writes the text built since {@link #begin()} to {@code path}, replacing any existing file. */
+    public void writeTo(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CharBuffer in = CharBuffer.wrap(text);
+            encoder.reset();
+            bytes.clear();
+            CoderResult result;
+            do {
+                result = encoder.encode(in, bytes, true);
+                if (result.isOverflow()) {
+                    drain(channel);
+                }
+            } while (!result.isUnderflow());
+            while (encoder.flush(bytes).isOverflow()) {
+                drain(channel);
+            }
+            drain(channel);
+        }
+        if (text.capacity() > BUFFER_BYTES * 16) {
+            text.setLength(0);
+            text.trimToSize();
+            text.ensureCapacity(BUFFER_BYTES);
+        }
+    }
+
+    private void drain(FileChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
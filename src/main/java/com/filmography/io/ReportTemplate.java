@@ -0,0 +1,84 @@
+package com.filmography.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Text with {@code {{name}}} slots, parsed once into alternating literal and
+ * slot segments. Rendering appends the literals and lets a {@link Section} per
+ * slot append its content, so the same compiled template can be rendered any
+ * number of times without re-parsing or building intermediate strings.
+ */
+public final class ReportTemplate {
+
+    @FunctionalInterface
+    public interface Section {
+        void write(StringBuilder out);
+    }
+
+    private final String[] literals;
+    private final String[] slots;
+
+    private ReportTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    public static ReportTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        int open = source.indexOf("{{");
+        while (open >= 0) {
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at offset " + open);
+            }
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty slot at offset " + open);
+            }
+            literals.add(source.substring(from, open));
+            slots.add(name);
+            from = close + 2;
+            open = source.indexOf("{{", from);
+        }
+        literals.add(source.substring(from));
+        return new ReportTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /** Compiles a UTF-8 template from the classpath, e.g. {@code /templates/before_analysis.md}. */
+    public static ReportTemplate load(String resource) {
+        try (InputStream in = ReportTemplate.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing template " + resource);
+            }
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read template " + resource, ex);
+        }
+    }
+
+    /** Slot names in order of first use. */
+    public Set<String> slots() {
+        return new LinkedHashSet<>(List.of(slots));
+    }
+
+    public void render(StringBuilder out, Map<String, Section> sections) {
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Section section = sections.get(slots[i]);
+            if (section == null) {
+                throw new IllegalArgumentException("No content for slot " + slots[i]);
+            }
+            section.write(out);
+        }
+        out.append(literals[slots.length]);
+    }
+}
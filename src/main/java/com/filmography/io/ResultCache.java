@@ -0,0 +1,311 @@
+package com.filmography.io;
+
+import com.filmography.model.FilmTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for stage results. Each entry lives under
+ * {@code <root>/<stage>/<key>}, where the key is a {@link Fingerprint} of the
+ * stage's inputs and code. So a stale entry is never read, only left behind.
+ *
+ * A key's code part is the classes the stage calls into, passed to
+ * {@link Fingerprint#addClasses}, which also hashes every application class
+ * those reference, transitively. Listing the stage's entry classes is enough;
+ * helpers they use are covered without being listed. Only inputs that are not
+ * bytecode must be added to the key explicitly: data files with
+ * {@link Fingerprint#addFile}, and classpath resources such as the report
+ * templates with {@link Fingerprint#addResources}.
+ *
+ * Entries are written to a temporary directory and renamed into place, so an
+ * interrupted run never leaves a partial entry. A table entry can also be
+ * looked up by lineage rather than key, see {@link #latest}.
+ */
+public class ResultCache {
+    private static final String FORMAT = "v1";
+    private static final byte NULL = 'N';
+    private static final byte STRING = 'S';
+    private static final byte INT = 'I';
+    private static final byte LONG = 'J';
+    private static final byte DOUBLE = 'D';
+    private static final byte BOOLEAN = 'Z';
+
+    @FunctionalInterface
+    public interface Compute<T> {
+        T compute() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Render {
+        void render(String outputDir) throws IOException;
+    }
+
+    private final File root;
+    private final Map<String, Boolean> outcomes = new LinkedHashMap<>();
+
+    public ResultCache(String directory) {
+        this.root = new File(directory, FORMAT);
+    }
+
+    /**
+     * A map of strings, numbers and booleans, rebuilt in the original
+     * iteration order on a hit.
+     */
+    public <V> Map<String, V> map(String stage, String key, Compute<Map<String, V>> compute) throws IOException {
+        File entry = entry(stage, key);
+        File file = new File(entry, "map.bin");
+        if (file.isFile()) {
+            record(stage, true);
+            return readMap(file);
+        }
+        record(stage, false);
+        Map<String, V> map = compute.compute();
+        if (cacheable(map)) {
+            store(entry, dir -> writeMap(new File(dir, "map.bin"), map));
+        }
+        return map;
+    }
+
+    public FilmTable table(String stage, String key, Compute<FilmTable> compute) throws IOException {
+        return table(stage, key, null, compute);
+    }
+
+    /**
+     * As {@link #table(String, String, Compute)}, and remembers the entry as
+     * the latest of {@code lineage}, typically a fingerprint of the stage's
+     * code alone, for {@link #latest} to return on a later run.
+     */
+    public FilmTable table(String stage, String key, String lineage, Compute<FilmTable> compute) throws IOException {
+        File entry = entry(stage, key);
+        File file = new File(entry, "table.fcol");
+        FilmTable table;
+        if (file.isFile()) {
+            record(stage, true);
+            try (ColumnarReader reader = new ColumnarReader(file.getPath())) {
+                table = reader.readTable();
+            }
+        } else {
+            record(stage, false);
+            FilmTable computed = compute.compute();
+            store(entry, dir -> new ColumnarWriter().write(new File(dir, "table.fcol").getPath(), computed));
+            table = computed;
+        }
+        if (lineage != null) {
+            writeLatest(stage, lineage, key);
+        }
+        return table;
+    }
+
+    /**
+     * The table last returned by {@link #table(String, String, String, Compute)}
+     * for {@code stage} and {@code lineage}, whatever its key, or null. Lets a
+     * stage whose inputs grew start from its previous result.
+     */
+    public FilmTable latest(String stage, String lineage) throws IOException {
+        File pointer = latestPointer(stage, lineage);
+        if (!pointer.isFile()) {
+            return null;
+        }
+        String key = new String(Files.readAllBytes(pointer.toPath()), StandardCharsets.UTF_8);
+        File file = new File(entry(stage, key), "table.fcol");
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ColumnarReader reader = new ColumnarReader(file.getPath())) {
+            return reader.readTable();
+        }
+    }
+
+    /**
+     * Files a stage renders into {@code outputDir}, such as charts. The stage
+     * renders into an empty directory that becomes the entry, so files already
+     * in {@code outputDir} never end up in it; the entry's files are then copied
+     * into {@code outputDir}, on a hit without rendering.
+     */
+    public void files(String stage, String key, String outputDir, Render render) throws IOException {
+        File entry = entry(stage, key);
+        File target = new File(outputDir);
+        boolean hit = entry.isDirectory();
+        record(stage, hit);
+        if (!hit) {
+            store(entry, render);
+        }
+        target.mkdirs();
+        copyFiles(entry, target);
+    }
+
+    /** Stage names with "hit" or "miss", in the order they were requested. */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Boolean> outcome : outcomes.entrySet()) {
+            sb.append(String.format("  %-40s %s%n", outcome.getKey(), outcome.getValue() ? "hit" : "miss"));
+        }
+        return sb.toString();
+    }
+
+    public synchronized Map<String, Boolean> outcomes() {
+        return new LinkedHashMap<>(outcomes);
+    }
+
+    private File entry(String stage, String key) {
+        return new File(new File(root, stage), key);
+    }
+
+    private File latestPointer(String stage, String lineage) {
+        return new File(new File(root, stage), lineage + ".latest");
+    }
+
+    private void writeLatest(String stage, String lineage, String key) throws IOException {
+        File pointer = latestPointer(stage, lineage);
+        pointer.getParentFile().mkdirs();
+        Path temp = Files.createTempFile(pointer.getParentFile().toPath(), pointer.getName(), ".tmp");
+        try {
+            Files.write(temp, key.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, pointer.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized void record(String stage, boolean hit) {
+        outcomes.put(stage, hit);
+    }
+
+    private void store(File entry, Render writer) throws IOException {
+        File parent = entry.getParentFile();
+        parent.mkdirs();
+        Path temp = Files.createTempDirectory(parent.toPath(), entry.getName() + ".tmp");
+        try {
+            writer.render(temp.toString());
+            Files.move(temp, entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException ex) {
+            // another run stored the same key first; its content is identical
+        } finally {
+            delete(temp);
+        }
+    }
+
+    private static void copyFiles(File from, File to) throws IOException {
+        File[] files = from.listFiles(File::isFile);
+        if (files == null) {
+            throw new IOException("Not a readable directory: " + from);
+        }
+        for (File file : files) {
+            Files.copy(file.toPath(), new File(to, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    private static boolean cacheable(Map<String, ?> map) {
+        for (Map.Entry<String, ?> e : map.entrySet()) {
+            Object value = e.getValue();
+            if (e.getKey() == null || !(value == null || value instanceof String || value instanceof Integer
+                    || value instanceof Long || value instanceof Double || value instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeMap(File file, Map<String, ?> map) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(map.size());
+            for (Map.Entry<String, ?> e : map.entrySet()) {
+                writeString(out, e.getKey());
+                Object value = e.getValue();
+                if (value == null) {
+                    out.writeByte(NULL);
+                } else if (value instanceof String) {
+                    out.writeByte(STRING);
+                    writeString(out, (String) value);
+                } else if (value instanceof Integer) {
+                    out.writeByte(INT);
+                    out.writeInt((Integer) value);
+                } else if (value instanceof Long) {
+                    out.writeByte(LONG);
+                    out.writeLong((Long) value);
+                } else if (value instanceof Double) {
+                    out.writeByte(DOUBLE);
+                    out.writeDouble((Double) value);
+                } else {
+                    out.writeByte(BOOLEAN);
+                    out.writeBoolean((Boolean) value);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Map<String, V> readMap(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int size = in.readInt();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                String key = readString(in);
+                byte tag = in.readByte();
+                switch (tag) {
+                    case NULL:
+                        map.put(key, null);
+                        break;
+                    case STRING:
+                        map.put(key, readString(in));
+                        break;
+                    case INT:
+                        map.put(key, in.readInt());
+                        break;
+                    case LONG:
+                        map.put(key, in.readLong());
+                        break;
+                    case DOUBLE:
+                        map.put(key, in.readDouble());
+                        break;
+                    case BOOLEAN:
+                        map.put(key, in.readBoolean());
+                        break;
+                    default:
+                        throw new IOException("Corrupt cache entry " + file + ": unknown tag " + tag);
+                }
+            }
+            return (Map<String, V>) map;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
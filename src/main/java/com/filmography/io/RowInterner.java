@@ -0,0 +1,50 @@
+package com.filmography.io;
+
+import com.filmography.model.StringDictionary;
+
+/**
+ * Canonicalizes the repetitive columns of streamed rows (actor, role, notes)
+ * through shared dictionaries, so a million "Cameo" notes are one String.
+ * Titles are nearly all distinct and are passed through untouched. The
+ * dictionaries are thread-safe, so one interner can serve parallel readers.
+ */
+public class RowInterner {
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+
+    private final StringDictionary actors;
+    private final StringDictionary roles;
+    private final StringDictionary notes;
+
+    public RowInterner() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public RowInterner(int maxEntries) {
+        actors = new StringDictionary("actor", maxEntries);
+        roles = new StringDictionary("role", maxEntries);
+        notes = new StringDictionary("notes", maxEntries);
+    }
+
+    public RowSink wrap(RowSink downstream) {
+        return (actor, year, film, role, note) -> downstream.accept(actors.canonical(actor), year, film,
+                roles.canonical(role), notes.canonical(note));
+    }
+
+    public StringDictionary actors() {
+        return actors;
+    }
+
+    public StringDictionary roles() {
+        return roles;
+    }
+
+    public StringDictionary notes() {
+        return notes;
+    }
+
+    public String report() {
+        return "  " + actors.report() + System.lineSeparator()
+                + "  " + roles.report() + System.lineSeparator()
+                + "  " + notes.report() + System.lineSeparator();
+    }
+}
@@ -0,0 +1,10 @@
+package com.filmography.io;
+
+/**
+ * Receives filmography rows as they are parsed, so callers can aggregate or
+ * build their own representation without materialising the whole file.
+ */
+@FunctionalInterface
+public interface RowSink {
+    void accept(String actor, int year, String film, String role, String notes);
+}
@@ -0,0 +1,286 @@
+package com.filmography.io;
+
+import com.filmography.model.ActorMetadataStore;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of raw filmographies shaped like the scraped CSVs in
+ * {@code data/raw}: {@code Year,Film,Role,Notes,Ref} rows in year order with
+ * {@code [a]} footnotes, daggers, diacritics, quoted commas and the
+ * "Child artist" / "Extended Cameo" notes the cleaner rewrites. The same seed
+ * and settings always produce the same rows.
+ *
+ * Films are spread over actors with a Zipf weight of {@code 1 / rank^skew}, so
+ * a skew of 0 gives every actor the same career length and larger values
+ * concentrate the rows on the first few actors.
+ */
+public class SyntheticFilmography {
+    private static final String[] KNOWN_ACTORS = {"Ajith", "Vijay"};
+    private static final String[] SYLLABLES = {"ka", "ma", "vee", "ran", "thu", "pa", "di", "nan", "la", "sa",
+            "ven", "ko", "ti", "raa", "mu", "ga", "yil", "an", "poo", "vaa"};
+    private static final String[] ACCENTED = {"ā", "ī", "ū", "é", "ō"};
+    private static final String[] FIRST_NAMES = {"Arjun", "Vetri", "Surya", "Kathir", "Raja", "Bala", "Shiva",
+            "Guru", "Murugan", "Vasu", "Prakash", "Karthik", "Anand", "Selvam", "Jeeva"};
+    private static final String[] NOTES = {"Telugu film", "Hindi film", "Guest appearance", "Also playback singer",
+            "Remake", "Also producer, playback singer", "Special appearance", "Bilingual film"};
+
+    private final long seed;
+    private final int[] filmCounts;
+
+    /**
+     * @param actors        number of actors, one CSV each
+     * @param filmsPerActor mean number of films per career
+     * @param skew          Zipf exponent for distributing films over actors
+     */
+    public SyntheticFilmography(long seed, int actors, int filmsPerActor, double skew) {
+        if (actors < 1 || filmsPerActor < 1 || skew < 0) {
+            throw new IllegalArgumentException("Need at least one actor and film, and a non-negative skew");
+        }
+        this.seed = seed;
+        this.filmCounts = distribute((long) actors * filmsPerActor, actors, skew);
+    }
+
+    private static int[] distribute(long total, int actors, double skew) {
+        double[] weights = new double[actors];
+        double sum = 0;
+        for (int i = 0; i < actors; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, skew);
+            sum += weights[i];
+        }
+        int[] counts = new int[actors];
+        long assigned = 0;
+        for (int i = 0; i < actors; i++) {
+            counts[i] = (int) Math.max(1, Math.floor(total * weights[i] / sum));
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < total; i = (i + 1) % actors) {
+            counts[i]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+    public int actorCount() {
+        return filmCounts.length;
+    }
+
+    public String actorName(int actor) {
+        return actor < KNOWN_ACTORS.length ? KNOWN_ACTORS[actor] : String.format("Actor %04d", actor + 1);
+    }
+
+    public int filmCount(int actor) {
+        return filmCounts[actor];
+    }
+
+    public long totalFilms() {
+        long total = 0;
+        for (int count : filmCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Streams one actor's raw rows in file order, exactly as {@link CsvReader} would deliver them. */
+    public void rows(int actor, RowSink sink) {
+        Random random = new Random(seed * 1_000_003L + actor);
+        String name = actorName(actor);
+        int films = filmCounts[actor];
+        Career career = new Career(random, films);
+        int childFilms = career.childFilms;
+        int perYear = career.perYear;
+
+        int year = career.debut;
+        for (int i = 0; i < films; i++) {
+            if (i > 0 && random.nextInt(perYear) == 0) {
+                year += random.nextInt(12) == 0 ? 2 + random.nextInt(3) : 1;
+            }
+            String notes;
+            if (i < childFilms) {
+                notes = "Child artist";
+            } else if (i == childFilms) {
+                notes = "Debut as lead actor";
+            } else {
+                notes = note(random, i);
+            }
+            sink.accept(name, year, title(random), role(random, notes), notes);
+        }
+    }
+
+    /**
+     * Birth dates for every actor, so the age features are populated: a child
+     * artist debuts at 6 to 13, anyone else at 18 to 29. Install with
+     * {@link com.filmography.model.ActorMetadata#use}.
+     */
+    public ActorMetadataStore metadata() {
+        ActorMetadataStore.Builder metadata = ActorMetadataStore.builder(filmCounts.length);
+        for (int actor = 0; actor < filmCounts.length; actor++) {
+            Career career = new Career(new Random(seed * 1_000_003L + actor), filmCounts[actor]);
+            Random random = new Random(seed * 7_919L + actor);
+            int age = career.childFilms > 0 ? 6 + random.nextInt(8) : 18 + random.nextInt(12);
+            metadata.add(actorName(actor), null,
+                    LocalDate.of(career.debut - age, 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        }
+        return metadata.build();
+    }
+
+    /** All rows for all actors, actor by actor. */
+    public void rows(RowSink sink) {
+        for (int actor = 0; actor < filmCounts.length; actor++) {
+            rows(actor, sink);
+        }
+    }
+
+    public void writeCsv(int actor, Writer out) throws IOException {
+        out.write("Year,Film,Role,Notes,Ref\n");
+        int[] ref = {0};
+        IOException[] failure = {null};
+        rows(actor, (name, year, film, role, notes) -> {
+            if (failure[0] != null) return;
+            try {
+                ref[0]++;
+                out.write(year + "," + quote(film) + "," + quote(role) + "," + quote(notes) + ","
+                        + reference(ref[0]) + "\n");
+            } catch (IOException ex) {
+                failure[0] = ex;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /** Writes one CSV per actor plus an {@code actors.properties} manifest for {@link DirectoryIngest}. */
+    public List<File> writeDirectory(String directory) throws IOException {
+        File dir = new File(directory);
+        dir.mkdirs();
+        List<File> files = new ArrayList<>();
+        StringBuilder manifest = new StringBuilder();
+        for (int actor = 0; actor < filmCounts.length; actor++) {
+            File file = new File(dir, fileName(actor));
+            try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                writeCsv(actor, out);
+            }
+            files.add(file);
+            manifest.append(file.getName()).append('=').append(actorName(actor)).append('\n');
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(new File(dir, DirectoryIngest.MANIFEST).toPath(), StandardCharsets.UTF_8)) {
+            out.write(manifest.toString());
+        }
+        return files;
+    }
+
+    public String fileName(int actor) {
+        return actorName(actor).toLowerCase().replace(' ', '_') + ".csv";
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                title.append(random.nextInt(20) == 0 ? ", " : " ");
+            }
+            int start = title.length();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                title.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                if (random.nextInt(15) == 0) {
+                    title.append(ACCENTED[random.nextInt(ACCENTED.length)]);
+                }
+            }
+            title.setCharAt(start, Character.toUpperCase(title.charAt(start)));
+        }
+        int quirk = random.nextInt(20);
+        if (quirk == 0) {
+            title.append(" †");
+        } else if (quirk == 1) {
+            title.append(footnote(random));
+        }
+        return title.toString();
+    }
+
+    private static String role(Random random, String notes) {
+        if ("Extended Cameo".equals(notes) && random.nextBoolean()) {
+            return "Himself";
+        }
+        if (random.nextInt(25) == 0) {
+            return "";
+        }
+        String role = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        if (random.nextInt(5) != 0) {
+            return role;
+        }
+        String other = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        return (random.nextBoolean() ? role + "/" + other : role + " (" + other + ")") + footnote(random);
+    }
+
+    private static String note(Random random, int index) {
+        if ((index + 1) % 25 == 0) {
+            String milestone = (index + 1) + "th film";
+            return random.nextBoolean() ? milestone + footnote(random) : milestone;
+        }
+        int draw = random.nextInt(20);
+        if (draw == 0) return "Extended Cameo";
+        if (draw == 1) return "Cameo appearance";
+        if (draw < 5) {
+            String note = NOTES[random.nextInt(NOTES.length)];
+            return random.nextInt(15) == 0 ? note + footnote(random) : note;
+        }
+        return "";
+    }
+
+    private static String footnote(Random random) {
+        return "[" + (char) ('a' + random.nextInt(10)) + "]";
+    }
+
+    private static String reference(int ref) {
+        String single = "[" + (ref % 60 + 1) + "]";
+        return ref % 7 == 0 ? single + "[" + (ref % 13 + 61) + "]" : single;
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /** Shape of one career, drawn first from the actor's random stream. */
+    private static final class Career {
+        private final int childFilms;
+        private final int perYear;
+        private final int debut;
+
+        private Career(Random random, int films) {
+            boolean childStart = random.nextInt(4) == 0;
+            this.childFilms = childStart ? 1 + random.nextInt(3) : 0;
+            this.perYear = 1 + random.nextInt(4);
+            int span = Math.max(1, films / perYear);
+            int lastYear = 2024 + random.nextInt(3);
+            this.debut = Math.max(1950, lastYear - span - random.nextInt(10));
+        }
+    }
+
+    /** {@code SyntheticFilmography <directory> <actors> <filmsPerActor> [skew] [seed]} */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: SyntheticFilmography <directory> <actors> <filmsPerActor> [skew] [seed]");
+            System.exit(2);
+        }
+        double skew = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        SyntheticFilmography generator = new SyntheticFilmography(seed, Integer.parseInt(args[1]), Integer.parseInt(args[2]), skew);
+        List<File> files = generator.writeDirectory(args[0]);
+        System.out.println("Wrote " + generator.totalFilms() + " films for " + files.size() + " actors to " + args[0]);
+    }
+}
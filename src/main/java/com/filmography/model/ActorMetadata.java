@@ -1,36 +1,82 @@
 package com.filmography.model;
 
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+/**
+ * Actor names, full names and birth dates, looked up by short name. The
+ * lookups go to the current {@link ActorMetadataSource}, which is a store of
+ * the two built-in actors until another source is installed with
+ * {@link #use}, e.g. a store loaded by
+ * {@link com.filmography.io.ActorMetadataFile} or any other backend. Code that looks
+ * up actors per row should take {@link #store()} once and use its ids or its
+ * per-table arrays instead.
+ */
 public final class ActorMetadata {
     public static final int CURRENT_YEAR = 2026;
 
-    private static final Map<String, LocalDate> BIRTH_DATES = new HashMap<>();
+    private static final ActorMetadataStore BUILT_IN = ActorMetadataStore.builder(2)
+            .add("Ajith", "Ajith Kumar", LocalDate.of(1971, 5, 1))
+            .add("Vijay", "Joseph Vijay", LocalDate.of(1974, 6, 22))
+            .build();
 
-    static {
-        BIRTH_DATES.put("Ajith", LocalDate.of(1971, 5, 1));
-        BIRTH_DATES.put("Vijay", LocalDate.of(1974, 6, 22));
-    }
+    private static volatile ActorMetadataSource store = BUILT_IN;
 
     private ActorMetadata() {
     }
 
+    public static ActorMetadataSource store() {
+        return store;
+    }
+
+    /** Replaces the metadata used by every lookup; null restores the built-in actors. */
+    public static void use(ActorMetadataSource metadata) {
+        store = metadata == null ? BUILT_IN : metadata;
+    }
+
+    /** Every actor with metadata, in name order. */
+    public static List<String> actors() {
+        return store.actors();
+    }
+
+    /** Actors of {@code table} that have metadata, in name order. */
+    public static List<String> actorsIn(FilmTable table) {
+        ActorMetadataSource metadata = store;
+        List<String> actors = new ArrayList<>();
+        for (int actor = 0; actor < table.actorCount(); actor++) {
+            if (metadata.id(table.actorName(actor)) >= 0) {
+                actors.add(table.actorName(actor));
+            }
+        }
+        Collections.sort(actors);
+        return actors;
+    }
+
+    /** Full name, or the actor's short name if none is known. */
+    public static String getFullName(String actor) {
+        ActorMetadataSource metadata = store;
+        int id = metadata.id(actor);
+        String fullName = id < 0 ? null : metadata.fullName(id);
+        return fullName == null ? actor : fullName;
+    }
+
     public static LocalDate getBirthDate(String actor) {
-        return BIRTH_DATES.get(actor);
+        ActorMetadataSource metadata = store;
+        int id = metadata.id(actor);
+        return id < 0 ? null : metadata.birthDate(id);
     }
 
     public static int getBirthYear(String actor) {
-        LocalDate date = getBirthDate(actor);
-        return date == null ? 0 : date.getYear();
+        ActorMetadataSource metadata = store;
+        int id = metadata.id(actor);
+        return id < 0 ? 0 : metadata.birthYear(id);
     }
 
     public static int getCurrentAge(String actor) {
-        LocalDate date = getBirthDate(actor);
-        if (date == null) {
-            return 0;
-        }
-        return CURRENT_YEAR - date.getYear();
+        ActorMetadataSource metadata = store;
+        int id = metadata.id(actor);
+        return id < 0 ? 0 : metadata.currentAge(id);
     }
 }
@@ -0,0 +1,62 @@
+package com.filmography.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Where {@link ActorMetadata} looks actors up. Ids are dense per source and
+ * only meaningful to the source that handed them out. The {@code FilmTable}
+ * methods resolve every actor of a table at once, giving arrays indexed by the
+ * table's actor code for use in row loops; a backend that can answer them in
+ * bulk, such as one query for all actors, should override them.
+ */
+public interface ActorMetadataSource {
+
+    /** Id of {@code actor}, or -1 if it has no metadata. */
+    int id(String actor);
+
+    /** Full name, or null if none is known. */
+    String fullName(int id);
+
+    /** Birth date, or null if unknown. */
+    LocalDate birthDate(int id);
+
+    /** Birth year, or 0 if unknown. */
+    int birthYear(int id);
+
+    /** Every actor, in name order. */
+    List<String> actors();
+
+    /** Age in {@link ActorMetadata#CURRENT_YEAR}, or 0 if the birth date is unknown. */
+    default int currentAge(int id) {
+        int year = birthYear(id);
+        return year == 0 ? 0 : ActorMetadata.CURRENT_YEAR - year;
+    }
+
+    /** Ids of the table's actors, indexed by actor code; -1 where an actor has no metadata. */
+    default int[] ids(FilmTable table) {
+        int[] ids = new int[table.actorCount()];
+        for (int actor = 0; actor < ids.length; actor++) {
+            ids[actor] = id(table.actorName(actor));
+        }
+        return ids;
+    }
+
+    /** Birth years of the table's actors, indexed by actor code; 0 where unknown. */
+    default int[] birthYears(FilmTable table) {
+        int[] years = ids(table);
+        for (int actor = 0; actor < years.length; actor++) {
+            years[actor] = years[actor] < 0 ? 0 : birthYear(years[actor]);
+        }
+        return years;
+    }
+
+    /** Current ages of the table's actors, indexed by actor code; 0 where unknown. */
+    default int[] currentAges(FilmTable table) {
+        int[] ages = ids(table);
+        for (int actor = 0; actor < ages.length; actor++) {
+            ages[actor] = ages[actor] < 0 ? 0 : currentAge(ages[actor]);
+        }
+        return ages;
+    }
+}
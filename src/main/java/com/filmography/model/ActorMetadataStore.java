@@ -0,0 +1,164 @@
+package com.filmography.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable actor metadata held in parallel arrays indexed by a dense actor id.
+ * Birth dates are packed as {@code yyyymmdd} ints (0 when unknown), so the
+ * birth year is one division and a million actors take a few megabytes.
+ * Names map to ids through an open-addressing int table, so a lookup hashes
+ * the name once and compares it with the candidate entries, without boxing.
+ * This is the built-in {@link ActorMetadataSource}; its per-table lookups are
+ * the interface's, one hashed lookup per actor of the table.
+ */
+public final class ActorMetadataStore implements ActorMetadataSource {
+    private final String[] names;
+    private final String[] fullNames;
+    private final int[] birthDates;
+    private final int[] slots;
+    private volatile List<String> sorted;
+
+    private ActorMetadataStore(String[] names, String[] fullNames, int[] birthDates) {
+        this.names = names;
+        this.fullNames = fullNames;
+        this.birthDates = birthDates;
+        this.slots = new int[Integer.highestOneBit(Math.max(2, names.length) * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        for (int id = 0; id < names.length; id++) {
+            int slot = spread(names[id].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                if (names[slots[slot] - 1].equals(names[id])) {
+                    throw new IllegalArgumentException("Duplicate actor " + names[id]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    public static Builder builder(int expectedActors) {
+        return new Builder(expectedActors);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** Id of {@code actor}, or -1 if it has no metadata. */
+    @Override
+    public int id(String actor) {
+        if (actor == null) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int slot = spread(actor.hashCode()) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (names[id].equals(actor)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    /** Full name, or null if none is known. */
+    @Override
+    public String fullName(int id) {
+        return fullNames[id];
+    }
+
+    /** Birth date as {@code yyyymmdd}, or 0 if unknown. */
+    public int packedBirthDate(int id) {
+        return birthDates[id];
+    }
+
+    @Override
+    public LocalDate birthDate(int id) {
+        int date = birthDates[id];
+        return date == 0 ? null : LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+    }
+
+    /** Birth year, or 0 if unknown. */
+    @Override
+    public int birthYear(int id) {
+        return birthDates[id] / 10000;
+    }
+
+    /** Every actor, in name order. */
+    @Override
+    public List<String> actors() {
+        List<String> actors = sorted;
+        if (actors == null) {
+            String[] copy = names.clone();
+            Arrays.sort(copy);
+            actors = List.of(copy);
+            sorted = actors;
+        }
+        return actors;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public static final class Builder {
+        private String[] names;
+        private String[] fullNames;
+        private int[] birthDates;
+        private int size;
+
+        private Builder(int expectedActors) {
+            int capacity = Math.max(16, expectedActors);
+            names = new String[capacity];
+            fullNames = new String[capacity];
+            birthDates = new int[capacity];
+        }
+
+        /** Adds an actor; {@code fullName} and {@code birthDate} may be null. */
+        public Builder add(String name, String fullName, LocalDate birthDate) {
+            return add(name, fullName, birthDate == null ? 0
+                    : birthDate.getYear() * 10000 + birthDate.getMonthValue() * 100 + birthDate.getDayOfMonth());
+        }
+
+        /** Adds an actor with a {@code yyyymmdd} birth date, 0 if unknown. */
+        public Builder add(String name, String fullName, int packedBirthDate) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Actor name is empty");
+            }
+            if (packedBirthDate != 0 && !validDate(packedBirthDate)) {
+                throw new IllegalArgumentException("Bad birth date " + packedBirthDate + " for " + name);
+            }
+            if (size == names.length) {
+                int capacity = size * 2;
+                names = Arrays.copyOf(names, capacity);
+                fullNames = Arrays.copyOf(fullNames, capacity);
+                birthDates = Arrays.copyOf(birthDates, capacity);
+            }
+            names[size] = name;
+            fullNames[size] = fullName == null || fullName.isEmpty() ? null : fullName;
+            birthDates[size] = packedBirthDate;
+            size++;
+            return this;
+        }
+
+        private static boolean validDate(int date) {
+            int year = date / 10000;
+            int month = date / 100 % 100;
+            int day = date % 100;
+            return year >= 1 && year <= 9999 && month >= 1 && month <= 12 && day >= 1
+                    && day <= YearMonth.of(year, month).lengthOfMonth();
+        }
+
+        /** @throws IllegalArgumentException if an actor was added twice */
+        public ActorMetadataStore build() {
+            return new ActorMetadataStore(Arrays.copyOf(names, size), Arrays.copyOf(fullNames, size),
+                    Arrays.copyOf(birthDates, size));
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package com.filmography.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Columnar representation of a filmography. Years and the derived integer
+ * features live in primitive arrays, actors and career phases are dictionary
+ * encoded and the boolean features are kept in bitsets. Missing integer values
+ * are stored as {@link #NULL}, a missing career phase as {@code -1}.
+ *
+ * The base columns are never modified after the table is built. The derived
+ * feature columns are an overlay allocated on the first {@link #setFeatures}
+ * call, so a raw table carries none of them. Alternatively a table can take
+ * its features from {@link FeatureColumns} computed on first use, see
+ * {@link #useLazyFeatures}.
+ */
+public final class FilmTable {
+    public static final int NULL = Integer.MIN_VALUE;
+
+    public static final String[] PHASES = {"Early", "Growth", "Peak"};
+
+    private final int size;
+    private final String[] actorNames;
+    private final int[] actorCodes;
+    private final int[] years;
+    private final String[] films;
+    private final String[] roles;
+    private final String[] notes;
+
+    private Features features;
+    private volatile FeatureColumns lazyFeatures;
+    private volatile Map<String, Integer> actorIndex;
+
+    private FilmTable(int size, String[] actorNames, int[] actorCodes, int[] years,
+                      String[] films, String[] roles, String[] notes) {
+        this.size = size;
+        this.actorNames = actorNames;
+        this.actorCodes = actorCodes;
+        this.years = years;
+        this.films = films;
+        this.roles = roles;
+        this.notes = notes;
+    }
+
+    public static FilmTable of(List<Film> films) {
+        Builder builder = new Builder(films.size());
+        for (Film film : films) {
+            builder.add(film.getActor(), film.getYear(), film.getFilm(), film.getRole(), film.getNotes());
+        }
+        FilmTable table = builder.build();
+        for (int row = 0; row < films.size(); row++) {
+            table.copyFeatures(row, films.get(row));
+        }
+        return table;
+    }
+
+    public static int phaseCode(String phase) {
+        if (phase == null) {
+            return -1;
+        }
+        for (int i = 0; i < PHASES.length; i++) {
+            if (PHASES[i].equals(phase)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown career phase: " + phase);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int actorCount() {
+        return actorNames.length;
+    }
+
+    public String actorName(int code) {
+        return actorNames[code];
+    }
+
+    public int actorCode(String actor) {
+        Map<String, Integer> index = actorIndex;
+        if (index == null) {
+            index = new HashMap<>(actorNames.length * 2);
+            for (int i = actorNames.length - 1; i >= 0; i--) {
+                index.put(actorNames[i], i);
+            }
+            actorIndex = index;
+        }
+        Integer code = index.get(actor);
+        return code == null ? -1 : code;
+    }
+
+    /** Actor codes ordered by actor name. */
+    public int[] actorCodesByName() {
+        Integer[] codes = new Integer[actorNames.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+        Arrays.sort(codes, (a, b) -> actorNames[a].compareTo(actorNames[b]));
+        int[] sorted = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            sorted[i] = codes[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * Row indices grouped by actor code, each group ordered by year. Rows with
+     * the same year keep their table order.
+     */
+    public int[][] rowsByActor() {
+        int[] counts = new int[actorNames.length];
+        for (int row = 0; row < size; row++) {
+            counts[actorCodes[row]]++;
+        }
+        long[][] keys = new long[actorNames.length][];
+        for (int actor = 0; actor < keys.length; actor++) {
+            keys[actor] = new long[counts[actor]];
+        }
+        int[] fill = new int[actorNames.length];
+        for (int row = 0; row < size; row++) {
+            int actor = actorCodes[row];
+            keys[actor][fill[actor]++] = ((long) years[row] << 32) | row;
+        }
+        int[][] groups = new int[actorNames.length][];
+        for (int actor = 0; actor < keys.length; actor++) {
+            long[] actorKeys = keys[actor];
+            Arrays.sort(actorKeys);
+            int[] rows = new int[actorKeys.length];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = (int) actorKeys[i];
+            }
+            groups[actor] = rows;
+        }
+        return groups;
+    }
+
+    public int actorCode(int row) {
+        return actorCodes[row];
+    }
+
+    public String actor(int row) {
+        return actorNames[actorCodes[row]];
+    }
+
+    public int year(int row) {
+        return years[row];
+    }
+
+    public String film(int row) {
+        return films[row];
+    }
+
+    public String role(int row) {
+        return roles[row];
+    }
+
+    public String notes(int row) {
+        return notes[row];
+    }
+
+    public boolean isEngineered(int row) {
+        return features != null ? features.engineered.get(row) : lazyFeatures != null;
+    }
+
+    public int debutYear(int row) {
+        if (features != null) {
+            return features.debutYears[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.debutYears()[row];
+    }
+
+    public int leadDebutYear(int row) {
+        if (features != null) {
+            return features.leadDebutYears[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.leadDebutYears()[row];
+    }
+
+    public int careerSpan(int row) {
+        if (features != null) {
+            return features.careerSpans[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.careerSpans()[row];
+    }
+
+    public int phaseCode(int row) {
+        if (features != null) {
+            return features.phaseCodes[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? -1 : lazy.phaseCodes()[row];
+    }
+
+    public String careerPhase(int row) {
+        int code = phaseCode(row);
+        return code < 0 ? null : PHASES[code];
+    }
+
+    public int cumulativeMovies(int row) {
+        if (features != null) {
+            return features.cumulativeMovies[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.cumulativeMovies()[row];
+    }
+
+    public int moviesPerYear(int row) {
+        if (features != null) {
+            return features.moviesPerYear[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.moviesPerYear()[row];
+    }
+
+    public int releaseGap(int row) {
+        if (features != null) {
+            return features.releaseGaps[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.releaseGaps()[row];
+    }
+
+    public int ageAtFilm(int row) {
+        if (features != null) {
+            return features.agesAtFilm[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.agesAtFilm()[row];
+    }
+
+    public int ageAtDebut(int row) {
+        if (features != null) {
+            return features.agesAtDebut[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.agesAtDebut()[row];
+    }
+
+    public int currentAge(int row) {
+        if (features != null) {
+            return features.currentAges[row];
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy == null ? NULL : lazy.currentAges()[row];
+    }
+
+    public boolean isHighProductivity(int row) {
+        if (features != null) {
+            return features.highProductivity.get(row);
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy != null && lazy.highProductivity().get(row);
+    }
+
+    public boolean isSpecial(int row) {
+        if (features != null) {
+            return features.special.get(row);
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy != null && lazy.special().get(row);
+    }
+
+    public boolean isChildRole(int row) {
+        if (features != null) {
+            return features.childRole.get(row);
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy != null && lazy.childRole().get(row);
+    }
+
+    public boolean isUpcoming(int row) {
+        if (features != null) {
+            return features.upcoming.get(row);
+        }
+        FeatureColumns lazy = lazyFeatures;
+        return lazy != null && lazy.upcoming().get(row);
+    }
+
+    public void setFeatures(int row, int debutYear, int leadDebutYear, int careerSpan, int phaseCode,
+                            int cumulative, int perYear, int releaseGap, int ageAtFilm, int ageAtDebut,
+                            int currentAge, boolean highProductivity, boolean special, boolean childRole,
+                            boolean upcoming) {
+        Features f = features();
+        f.engineered.set(row);
+        f.debutYears[row] = debutYear;
+        f.leadDebutYears[row] = leadDebutYear;
+        f.careerSpans[row] = careerSpan;
+        f.phaseCodes[row] = (byte) phaseCode;
+        f.cumulativeMovies[row] = cumulative;
+        f.moviesPerYear[row] = perYear;
+        f.releaseGaps[row] = releaseGap;
+        f.agesAtFilm[row] = ageAtFilm;
+        f.agesAtDebut[row] = ageAtDebut;
+        f.currentAges[row] = currentAge;
+        f.highProductivity.set(row, highProductivity);
+        f.special.set(row, special);
+        f.childRole.set(row, childRole);
+        f.upcoming.set(row, upcoming);
+    }
+
+    /** Copy of the rows in {@code [from, to)}, including any engineered features. */
+    public FilmTable slice(int from, int to) {
+        int length = to - from;
+        FilmTable slice = new FilmTable(length, actorNames,
+                Arrays.copyOfRange(actorCodes, from, to),
+                Arrays.copyOfRange(years, from, to),
+                Arrays.copyOfRange(films, from, to),
+                Arrays.copyOfRange(roles, from, to),
+                Arrays.copyOfRange(notes, from, to));
+        for (int row = 0; row < length; row++) {
+            if (isEngineered(from + row)) {
+                slice.copyFeatures(row, this, from + row);
+            }
+        }
+        return slice;
+    }
+
+    /**
+     * Copy of the given rows in the given order, including any engineered
+     * features. The actor dictionary is narrowed to the actors in those rows,
+     * keeping their relative order, so a per-actor selection has one actor.
+     */
+    public FilmTable select(int[] rows) {
+        int[] remap = new int[actorNames.length];
+        Arrays.fill(remap, -1);
+        for (int row : rows) {
+            remap[actorCodes[row]] = 0;
+        }
+        int actors = 0;
+        for (int code = 0; code < remap.length; code++) {
+            if (remap[code] == 0) {
+                remap[code] = actors++;
+            } else {
+                remap[code] = -1;
+            }
+        }
+        String[] names = new String[actors];
+        for (int code = 0; code < remap.length; code++) {
+            if (remap[code] >= 0) {
+                names[remap[code]] = actorNames[code];
+            }
+        }
+
+        int length = rows.length;
+        int[] codes = new int[length];
+        int[] selectedYears = new int[length];
+        String[] selectedFilms = new String[length];
+        String[] selectedRoles = new String[length];
+        String[] selectedNotes = new String[length];
+        for (int i = 0; i < length; i++) {
+            int row = rows[i];
+            codes[i] = remap[actorCodes[row]];
+            selectedYears[i] = years[row];
+            selectedFilms[i] = films[row];
+            selectedRoles[i] = roles[row];
+            selectedNotes[i] = notes[row];
+        }
+        FilmTable selection = new FilmTable(length, names, codes, selectedYears,
+                selectedFilms, selectedRoles, selectedNotes);
+        for (int i = 0; i < length; i++) {
+            if (isEngineered(rows[i])) {
+                selection.copyFeatures(i, this, rows[i]);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * A table over the same rows with each text value passed through the given
+     * functions, e.g. cleaning. Actor and year columns are shared, and a text
+     * column is copied only once a function returns a different instance for
+     * one of its values, so unchanged columns and strings are shared with this
+     * table. The result has no engineered features.
+     */
+    public FilmTable mapText(UnaryOperator<String> film, UnaryOperator<String> role, UnaryOperator<String> note) {
+        return new FilmTable(size, actorNames, actorCodes, years,
+                mapColumn(films, film), mapColumn(roles, role), mapColumn(notes, note));
+    }
+
+    private static String[] mapColumn(String[] column, UnaryOperator<String> function) {
+        String[] mapped = column;
+        for (int row = 0; row < column.length; row++) {
+            String value = function.apply(column[row]);
+            if (value != column[row]) {
+                if (mapped == column) {
+                    mapped = column.clone();
+                }
+                mapped[row] = value;
+            }
+        }
+        return mapped;
+    }
+
+    public Film toFilm(int row) {
+        Film film = new Film(actor(row), years[row], films[row], roles[row], notes[row]);
+        copyFeaturesTo(row, film);
+        return film;
+    }
+
+    public void copyFeaturesTo(int row, Film film) {
+        if (!isEngineered(row)) {
+            return;
+        }
+        film.setDebutYear(boxed(debutYear(row)));
+        film.setLeadDebutYear(boxed(leadDebutYear(row)));
+        film.setCareerSpan(boxed(careerSpan(row)));
+        film.setCareerPhase(careerPhase(row));
+        film.setCumulativeMovies(boxed(cumulativeMovies(row)));
+        film.setMoviesPerYear(boxed(moviesPerYear(row)));
+        film.setReleaseGap(boxed(releaseGap(row)));
+        film.setHighProductivity(isHighProductivity(row));
+        film.setIsSpecial(isSpecial(row));
+        film.setAgeAtFilm(boxed(ageAtFilm(row)));
+        film.setAgeAtDebut(boxed(ageAtDebut(row)));
+        film.setCurrentAge(boxed(currentAge(row)));
+        film.setIsChildRole(isChildRole(row));
+        film.setIsUpcoming(isUpcoming(row));
+    }
+
+    private void copyFeatures(int row, Film film) {
+        if (film.getHighProductivity() == null && film.getIsSpecial() == null
+                && film.getIsChildRole() == null && film.getIsUpcoming() == null) {
+            return;
+        }
+        setFeatures(row,
+                unboxed(film.getDebutYear()),
+                unboxed(film.getLeadDebutYear()),
+                unboxed(film.getCareerSpan()),
+                phaseCode(film.getCareerPhase()),
+                unboxed(film.getCumulativeMovies()),
+                unboxed(film.getMoviesPerYear()),
+                unboxed(film.getReleaseGap()),
+                unboxed(film.getAgeAtFilm()),
+                unboxed(film.getAgeAtDebut()),
+                unboxed(film.getCurrentAge()),
+                Boolean.TRUE.equals(film.getHighProductivity()),
+                Boolean.TRUE.equals(film.getIsSpecial()),
+                Boolean.TRUE.equals(film.getIsChildRole()),
+                Boolean.TRUE.equals(film.getIsUpcoming()));
+    }
+
+    /** Sets the features of {@code row} to those of {@code sourceRow} in {@code source}. */
+    public void copyFeatures(int row, FilmTable source, int sourceRow) {
+        setFeatures(row,
+                source.debutYear(sourceRow),
+                source.leadDebutYear(sourceRow),
+                source.careerSpan(sourceRow),
+                source.phaseCode(sourceRow),
+                source.cumulativeMovies(sourceRow),
+                source.moviesPerYear(sourceRow),
+                source.releaseGap(sourceRow),
+                source.ageAtFilm(sourceRow),
+                source.ageAtDebut(sourceRow),
+                source.currentAge(sourceRow),
+                source.isHighProductivity(sourceRow),
+                source.isSpecial(sourceRow),
+                source.isChildRole(sourceRow),
+                source.isUpcoming(sourceRow));
+    }
+
+    /**
+     * Takes every row's features from {@code columns}, which may compute each
+     * column when it is first read. Only for tables without engineered rows.
+     */
+    public void useLazyFeatures(FeatureColumns columns) {
+        if (features != null) {
+            throw new IllegalStateException("Table already has engineered features");
+        }
+        lazyFeatures = columns;
+    }
+
+    private Features features() {
+        if (lazyFeatures != null) {
+            throw new IllegalStateException("Table uses lazy features");
+        }
+        if (features == null) {
+            features = new Features(size);
+        }
+        return features;
+    }
+
+    private static int[] nullColumn(int size) {
+        int[] column = new int[size];
+        Arrays.fill(column, NULL);
+        return column;
+    }
+
+    private static int unboxed(Integer value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * Row-indexed derived feature columns with the same encoding as the
+     * overlay: {@link #NULL} for missing ints, -1 for a missing phase. The
+     * arrays are read, never written, by the table.
+     */
+    public interface FeatureColumns {
+        int[] debutYears();
+
+        int[] leadDebutYears();
+
+        int[] careerSpans();
+
+        byte[] phaseCodes();
+
+        int[] cumulativeMovies();
+
+        int[] moviesPerYear();
+
+        int[] releaseGaps();
+
+        int[] agesAtFilm();
+
+        int[] agesAtDebut();
+
+        int[] currentAges();
+
+        BitSet highProductivity();
+
+        BitSet special();
+
+        BitSet childRole();
+
+        BitSet upcoming();
+    }
+
+    /** Derived feature columns, allocated when the first row is engineered. */
+    private static final class Features {
+        private final BitSet engineered;
+        private final int[] debutYears;
+        private final int[] leadDebutYears;
+        private final int[] careerSpans;
+        private final byte[] phaseCodes;
+        private final int[] cumulativeMovies;
+        private final int[] moviesPerYear;
+        private final int[] releaseGaps;
+        private final int[] agesAtFilm;
+        private final int[] agesAtDebut;
+        private final int[] currentAges;
+        private final BitSet highProductivity;
+        private final BitSet special;
+        private final BitSet childRole;
+        private final BitSet upcoming;
+
+        private Features(int size) {
+            engineered = new BitSet(size);
+            debutYears = nullColumn(size);
+            leadDebutYears = nullColumn(size);
+            careerSpans = nullColumn(size);
+            phaseCodes = new byte[size];
+            Arrays.fill(phaseCodes, (byte) -1);
+            cumulativeMovies = nullColumn(size);
+            moviesPerYear = nullColumn(size);
+            releaseGaps = nullColumn(size);
+            agesAtFilm = nullColumn(size);
+            agesAtDebut = nullColumn(size);
+            currentAges = nullColumn(size);
+            highProductivity = new BitSet(size);
+            special = new BitSet(size);
+            childRole = new BitSet(size);
+            upcoming = new BitSet(size);
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> actorIndex = new HashMap<>();
+        private String[] actorNames = new String[4];
+        private int actorCount;
+
+        private int size;
+        private int[] actorCodes;
+        private int[] years;
+        private String[] films;
+        private String[] roles;
+        private String[] notes;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int capacity) {
+            int initial = Math.max(capacity, 1);
+            actorCodes = new int[initial];
+            years = new int[initial];
+            films = new String[initial];
+            roles = new String[initial];
+            notes = new String[initial];
+        }
+
+        public Builder add(String actor, int year, String film, String role, String note) {
+            if (size == years.length) {
+                grow();
+            }
+            actorCodes[size] = encodeActor(actor);
+            years[size] = year;
+            films[size] = film;
+            roles[size] = role;
+            notes[size] = note;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public FilmTable build() {
+            return new FilmTable(size,
+                    Arrays.copyOf(actorNames, actorCount),
+                    Arrays.copyOf(actorCodes, size),
+                    Arrays.copyOf(years, size),
+                    Arrays.copyOf(films, size),
+                    Arrays.copyOf(roles, size),
+                    Arrays.copyOf(notes, size));
+        }
+
+        private int encodeActor(String actor) {
+            Integer code = actorIndex.get(actor);
+            if (code != null) {
+                return code;
+            }
+            if (actorCount == actorNames.length) {
+                actorNames = Arrays.copyOf(actorNames, actorCount * 2);
+            }
+            actorNames[actorCount] = actor;
+            actorIndex.put(actor, actorCount);
+            return actorCount++;
+        }
+
+        private void grow() {
+            int capacity = years.length * 2;
+            actorCodes = Arrays.copyOf(actorCodes, capacity);
+            years = Arrays.copyOf(years, capacity);
+            films = Arrays.copyOf(films, capacity);
+            roles = Arrays.copyOf(roles, capacity);
+            notes = Arrays.copyOf(notes, capacity);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.filmography.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe dictionary for low-cardinality text columns. Each distinct value
+ * gets a dense int code and one shared instance, so repeated values cost a
+ * reference instead of a fresh String. Once {@code maxEntries} values are
+ * known, new values pass through unshared and count as misses.
+ */
+public final class StringDictionary {
+    private final String name;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    private volatile String[] values = new String[16];
+    private volatile boolean full;
+    private int size;
+
+    public StringDictionary(String name, int maxEntries) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+    }
+
+    /** The shared instance equal to {@code value}, or {@code value} itself if it is null or the dictionary is full. */
+    public String canonical(String value) {
+        int code = code(value);
+        return code < 0 ? value : values[code];
+    }
+
+    /** Code of {@code value}, adding it if there is room; -1 for null or when the dictionary is full. */
+    public int code(String value) {
+        if (value == null) {
+            return -1;
+        }
+        lookups.increment();
+        Integer code = codes.get(value);
+        if (code != null) {
+            hits.increment();
+            return code;
+        }
+        if (full) {
+            return -1;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == maxEntries) {
+                full = true;
+                return -1;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    public String value(int code) {
+        return values[code];
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public double hitRate() {
+        long total = lookups();
+        return total == 0 ? 0 : (double) hits() / total;
+    }
+
+    public String report() {
+        return String.format("%-8s %7d entries %6.2f%% hit rate (%d lookups)%s",
+                name, size(), hitRate() * 100, lookups(), full ? ", full" : "");
+    }
+}
@@ -0,0 +1,203 @@
+package com.filmography.pipeline;
+
+import com.filmography.analysis.DataExplorer;
+import com.filmography.analysis.InsightGenerator;
+import com.filmography.io.CompletionManifest;
+import com.filmography.io.MarkdownWriter;
+import com.filmography.model.FilmTable;
+import com.filmography.visualization.ChartGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Before/after reports and charts for each actor on their own, written to
+ * {@code <outputDir>/<directory>/reports} and {@code <outputDir>/<directory>/charts},
+ * with the directory from {@link #directoryName}.
+ * Actors are rendered on a fixed pool, and submission blocks once
+ * {@code maxPending} actors are queued or running, so memory and concurrent
+ * disk writes stay bounded however long the actor list is. Each finished actor
+ * is recorded in a {@link CompletionManifest}; a rerun with the same key skips
+ * them and picks up where a crashed run stopped.
+ */
+public final class ActorReports {
+    public static final String MANIFEST = "completed.tsv";
+
+    private final String outputDir;
+    private final int threads;
+    private final int maxPending;
+    private final DataExplorer explorer = new DataExplorer();
+    private final InsightGenerator insightGenerator = new InsightGenerator();
+    private final MarkdownWriter markdownWriter = new MarkdownWriter();
+
+    public ActorReports(String outputDir, int threads, int maxPending) {
+        this.outputDir = outputDir;
+        this.threads = Math.max(1, threads);
+        this.maxPending = Math.max(this.threads, maxPending);
+    }
+
+    /**
+     * Renders every actor in {@code actors} that has films in both tables.
+     * Actors that fail are left out of the manifest and reported together
+     * after the others have finished, so a rerun retries just those.
+     *
+     * @throws IllegalArgumentException if two actors map to the same directory
+     */
+    public Summary run(List<String> actors, FilmTable raw, FilmTable processed, String key) throws IOException {
+        checkDirectories(actors);
+        new File(outputDir).mkdirs();
+        int[][] rawRows = raw.rowsByActor();
+        int[][] processedRows = processed.rowsByActor();
+        AtomicInteger generated = new AtomicInteger();
+        int skipped = 0;
+        int missing = 0;
+        List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+
+        Metrics.Workers workers = Metrics.workers();
+        Semaphore pending = new Semaphore(maxPending);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (CompletionManifest manifest = new CompletionManifest(outputDir + "/" + MANIFEST)) {
+            for (String actor : actors) {
+                if (manifest.isComplete(actor, key)) {
+                    skipped++;
+                    continue;
+                }
+                int rawCode = raw.actorCode(actor);
+                int processedCode = processed.actorCode(actor);
+                if (rawCode < 0 || processedCode < 0) {
+                    missing++;
+                    continue;
+                }
+                FilmTable before = raw.select(rawRows[rawCode]);
+                FilmTable after = processed.select(processedRows[processedCode]);
+
+                acquire(pending, 1);
+                try {
+                    executor.execute(workers.wrap(() -> {
+                        try {
+                            render(actor, before, after);
+                            manifest.markComplete(actor, key);
+                            generated.incrementAndGet();
+                        } catch (Exception ex) {
+                            failures.add(new IOException("Report for " + actor + " failed", ex));
+                        } finally {
+                            pending.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException ex) {
+                    pending.release();
+                    throw ex;
+                }
+            }
+            acquire(pending, maxPending);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            IOException failure = new IOException(failures.size() + " actor report(s) failed; rerun to resume",
+                    failures.get(0));
+            for (int i = 1; i < Math.min(failures.size(), 10); i++) {
+                failure.addSuppressed(failures.get(i));
+            }
+            throw failure;
+        }
+        return new Summary(generated.get(), skipped, missing);
+    }
+
+    private void render(String actor, FilmTable before, FilmTable after) throws IOException {
+        String dir = outputDir + "/" + directoryName(actor);
+        List<String> only = List.of(actor);
+        ChartGenerator chartGenerator = new ChartGenerator();
+        chartGenerator.generateBefore(before, dir + "/charts/before", "before");
+        chartGenerator.generateAfter(after, dir + "/charts/after", "after");
+
+        new File(dir + "/reports").mkdirs();
+        markdownWriter.writeBefore(dir + "/reports/before_analysis.md", only, explorer.summarizeBefore(before),
+                before.slice(0, Math.min(10, before.size())), MarkdownWriter.BEFORE_CHARTS, "../charts/before",
+                insightGenerator.generate(before));
+        markdownWriter.writeAfter(dir + "/reports/after_analysis.md", only, explorer.summarizeAfter(after),
+                after.slice(0, Math.min(10, after.size())), MarkdownWriter.AFTER_CHARTS, "../charts/after",
+                insightGenerator.generate(after));
+    }
+
+    /**
+     * Directory for an actor's files: a readable slug of the name plus the first
+     * eight hex digits of its SHA-256, e.g. {@code actor_0042_<hash>} for
+     * "Actor 0042". The hash keeps names that share a slug apart, such as
+     * "M.G. Ramachandran" and "M G Ramachandran", or names in Tamil script,
+     * whose slug is just {@code actor}.
+     */
+    public static String directoryName(String actor) {
+        String slug = actor.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_+|_+$", "");
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(actor.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+        return (slug.isEmpty() ? "actor" : slug) + "_" + HexFormat.of().formatHex(hash, 0, 4);
+    }
+
+    private static void checkDirectories(List<String> actors) {
+        Map<String, String> owners = new HashMap<>();
+        for (String actor : actors) {
+            String owner = owners.putIfAbsent(directoryName(actor), actor);
+            if (owner != null && !owner.equals(actor)) {
+                throw new IllegalArgumentException("Actors '" + owner + "' and '" + actor
+                        + "' map to the same directory " + directoryName(actor));
+            }
+        }
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) throws IOException {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing actor reports");
+        }
+    }
+
+    public static final class Summary {
+        private final int generated;
+        private final int skipped;
+        private final int missing;
+
+        private Summary(int generated, int skipped, int missing) {
+            this.generated = generated;
+            this.skipped = skipped;
+            this.missing = missing;
+        }
+
+        public int getGenerated() {
+            return generated;
+        }
+
+        /** Actors already in the manifest with the same key. */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /** Actors without films in the data. */
+        public int getMissing() {
+            return missing;
+        }
+    }
+}
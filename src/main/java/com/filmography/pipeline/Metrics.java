@@ -0,0 +1,355 @@
+package com.filmography.pipeline;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-stage measurements: wall time, CPU time and allocated bytes (from
+ * {@link java.lang.management.ThreadMXBean}), plus row and byte counters
+ * reported by the stage itself. CPU and allocation cover the thread running the
+ * stage and the work it hands to other pools through {@link #workers()}; each
+ * worker task measures its own thread and adds the deltas to the span, so
+ * stages running at the same time never count each other's work. A span also
+ * includes what is charged to spans opened inside it on the same thread. Every
+ * closed span is also committed as a {@link StageEvent} for JFR.
+ */
+public final class Metrics {
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final ThreadLocal<Span> OPEN = new ThreadLocal<>();
+    private static final ThreadLocal<Span> CHARGING = new ThreadLocal<>();
+
+    private final long originNanos = System.nanoTime();
+    private final List<StageMetrics> stages = new ArrayList<>();
+
+    /** Starts measuring on the current thread; close the span on the same thread. */
+    public Span start(String stage) {
+        return new Span(stage);
+    }
+
+    /**
+     * Charges work run on other threads to the span open on the calling thread,
+     * or to the span a worker task calling this is charged to. Outside any span
+     * the work runs unmeasured. Obtain it before handing work off.
+     */
+    public static Workers workers() {
+        Span span = CHARGING.get();
+        return new Workers(span != null ? span : OPEN.get());
+    }
+
+    public synchronized List<StageMetrics> stages() {
+        List<StageMetrics> sorted = new ArrayList<>(stages);
+        sorted.sort(Comparator.comparingLong(StageMetrics::getStartNanos));
+        return sorted;
+    }
+
+    public String summaryTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("  %-20s %9s %9s %10s %10s %10s %10s %10s%n",
+                "stage", "wall ms", "cpu ms", "alloc MB", "rows in", "rows out", "read KB", "write KB"));
+        for (StageMetrics m : stages()) {
+            sb.append(String.format("  %-20s %9d %9s %10s %10s %10s %10s %10s%n", m.getStage(),
+                    m.getWallNanos() / 1_000_000,
+                    m.getCpuNanos() < 0 ? "-" : String.valueOf(m.getCpuNanos() / 1_000_000),
+                    m.getAllocatedBytes() < 0 ? "-" : String.format("%.1f", m.getAllocatedBytes() / 1048576.0),
+                    counter(m.getRowsIn()), counter(m.getRowsOut()),
+                    m.getBytesRead() < 0 ? "-" : String.valueOf(m.getBytesRead() / 1024),
+                    m.getBytesWritten() < 0 ? "-" : String.valueOf(m.getBytesWritten() / 1024)));
+        }
+        return sb.toString();
+    }
+
+    public void writeJson(String path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            out.write("{\n  \"stages\": [");
+            List<StageMetrics> all = stages();
+            for (int i = 0; i < all.size(); i++) {
+                StageMetrics m = all.get(i);
+                out.write(i == 0 ? "\n" : ",\n");
+                out.write("    {\"stage\": " + quote(m.getStage())
+                        + ", \"thread\": " + quote(m.getThread())
+                        + ", \"startNanos\": " + m.getStartNanos()
+                        + ", \"wallNanos\": " + m.getWallNanos()
+                        + ", \"cpuNanos\": " + number(m.getCpuNanos())
+                        + ", \"allocatedBytes\": " + number(m.getAllocatedBytes())
+                        + ", \"rowsIn\": " + number(m.getRowsIn())
+                        + ", \"rowsOut\": " + number(m.getRowsOut())
+                        + ", \"bytesRead\": " + number(m.getBytesRead())
+                        + ", \"bytesWritten\": " + number(m.getBytesWritten()) + "}");
+            }
+            out.write("\n  ]\n}\n");
+        }
+    }
+
+    private synchronized void record(StageMetrics metrics) {
+        stages.add(metrics);
+    }
+
+    private static String counter(long value) {
+        return value < 0 ? "-" : String.valueOf(value);
+    }
+
+    private static String number(long value) {
+        return value < 0 ? "null" : String.valueOf(value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static long threadCpuNanos() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException ex) {
+            return -1;
+        }
+    }
+
+    private static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /** Adds the CPU time and allocation of tasks run on worker threads to a span. */
+    public static final class Workers {
+        private final Span span;
+
+        private Workers(Span span) {
+            this.span = span;
+        }
+
+        /**
+         * Runs {@code task} on the current thread. Its CPU time and allocation
+         * are charged to the span, unless this is the span's own thread or a
+         * task already being charged, which are measured anyway.
+         */
+        public void run(Runnable task) {
+            if (!charges()) {
+                task.run();
+                return;
+            }
+            long[] start = begin();
+            try {
+                task.run();
+            } finally {
+                end(start);
+            }
+        }
+
+        /** {@code task} charged like {@link #run}, for submitting to a pool. */
+        public <T> Callable<T> wrap(Callable<T> task) {
+            if (span == null) {
+                return task;
+            }
+            return () -> {
+                if (!charges()) {
+                    return task.call();
+                }
+                long[] start = begin();
+                try {
+                    return task.call();
+                } finally {
+                    end(start);
+                }
+            };
+        }
+
+        /** {@code task} charged like {@link #run}, for submitting to a pool. */
+        public Runnable wrap(Runnable task) {
+            return span == null ? task : () -> run(task);
+        }
+
+        private boolean charges() {
+            return span != null && span.thread != Thread.currentThread() && CHARGING.get() == null;
+        }
+
+        private long[] begin() {
+            CHARGING.set(span);
+            return new long[]{threadCpuNanos(), threadAllocatedBytes()};
+        }
+
+        private void end(long[] start) {
+            long cpu = start[0] < 0 ? 0 : threadCpuNanos() - start[0];
+            long allocated = start[1] < 0 ? 0 : threadAllocatedBytes() - start[1];
+            CHARGING.remove();
+            for (Span s = span; s != null; s = s.parent) {
+                s.workerCpu.add(cpu);
+                s.workerAllocated.add(allocated);
+            }
+        }
+    }
+
+    /**
+     * Measurement of one stage; counters not set are reported as unknown. Work
+     * charged through {@link #workers()} must finish before the span closes.
+     */
+    public final class Span implements AutoCloseable {
+        private final String stage;
+        private final Thread thread = Thread.currentThread();
+        private final Span parent = OPEN.get();
+        private final LongAdder workerCpu = new LongAdder();
+        private final LongAdder workerAllocated = new LongAdder();
+        private final long startNanos;
+        private final long startCpu;
+        private final long startAllocated;
+        private final StageEvent event = new StageEvent();
+        private long rowsIn = -1;
+        private long rowsOut = -1;
+        private long bytesRead = -1;
+        private long bytesWritten = -1;
+        private boolean closed;
+
+        private Span(String stage) {
+            this.stage = stage;
+            this.startAllocated = threadAllocatedBytes();
+            this.startCpu = threadCpuNanos();
+            this.startNanos = System.nanoTime();
+            OPEN.set(this);
+            event.begin();
+        }
+
+        public Span rowsIn(long rows) {
+            rowsIn = rows;
+            return this;
+        }
+
+        public Span rowsOut(long rows) {
+            rowsOut = rows;
+            return this;
+        }
+
+        public Span bytesRead(long bytes) {
+            bytesRead = bytes;
+            return this;
+        }
+
+        public Span bytesWritten(long bytes) {
+            bytesWritten = bytes;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long end = System.nanoTime();
+            long cpu = startCpu < 0 ? -1 : threadCpuNanos() - startCpu + workerCpu.sum();
+            long allocated = startAllocated < 0 ? -1 : threadAllocatedBytes() - startAllocated + workerAllocated.sum();
+            if (parent == null) {
+                OPEN.remove();
+            } else {
+                OPEN.set(parent);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.cpuTime = cpu;
+                event.allocated = allocated;
+                event.rowsIn = rowsIn;
+                event.rowsOut = rowsOut;
+                event.bytesRead = bytesRead;
+                event.bytesWritten = bytesWritten;
+                event.commit();
+            }
+            record(new StageMetrics(stage, thread.getName(), startNanos - originNanos,
+                    end - startNanos, cpu, allocated, rowsIn, rowsOut, bytesRead, bytesWritten));
+        }
+    }
+
+    public static final class StageMetrics {
+        private final String stage;
+        private final String thread;
+        private final long startNanos;
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final long rowsIn;
+        private final long rowsOut;
+        private final long bytesRead;
+        private final long bytesWritten;
+
+        private StageMetrics(String stage, String thread, long startNanos, long wallNanos, long cpuNanos,
+                             long allocatedBytes, long rowsIn, long rowsOut, long bytesRead, long bytesWritten) {
+            this.stage = stage;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.rowsIn = rowsIn;
+            this.rowsOut = rowsOut;
+            this.bytesRead = bytesRead;
+            this.bytesWritten = bytesWritten;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /** Offset from the creation of the {@link Metrics}. */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /** CPU time of the stage's thread and its worker tasks, or -1 if the JVM can't measure it. */
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        /** Bytes allocated by the stage's thread and its worker tasks, or -1 if the JVM can't measure it. */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getRowsIn() {
+            return rowsIn;
+        }
+
+        public long getRowsOut() {
+            return rowsOut;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.filmography.pipeline;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A set of stages wired together by named artifacts. Each stage declares the
+ * artifacts it reads and the ones it produces; a stage starts as soon as every
+ * stage producing its inputs has finished, so independent branches run
+ * concurrently. Stages may only read their declared inputs and must put every
+ * declared output.
+ */
+public final class Pipeline {
+
+    @FunctionalInterface
+    public interface Task {
+        void run(Artifacts artifacts) throws Exception;
+    }
+
+    private final Metrics metrics;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, Stage> producers = new HashMap<>();
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+    private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
+    private long wallNanos;
+
+    public Pipeline() {
+        this(new Metrics());
+    }
+
+    public Pipeline(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Measurements of every stage run so far, plus any spans stages opened themselves. */
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    public Pipeline stage(String name, List<String> inputs, List<String> outputs, Task task) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate stage: " + name);
+        }
+        Stage stage = new Stage(name, inputs, outputs, task);
+        for (String output : outputs) {
+            Stage previous = producers.putIfAbsent(output, stage);
+            if (previous != null) {
+                throw new IllegalArgumentException("Artifact " + output + " is produced by both "
+                        + previous.name + " and " + name);
+            }
+        }
+        stages.put(name, stage);
+        return this;
+    }
+
+    /** Runs every stage on up to {@code threads} threads and returns once all have finished. */
+    public void run(int threads) throws IOException {
+        List<Stage> order = topologicalOrder();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            run(order, new ExecutorCompletionService<>(executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String artifact) {
+        return (T) values.get(artifact);
+    }
+
+    /** Stage timings in start order. */
+    public List<Timing> timings() {
+        List<Timing> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong((Timing t) -> t.startNanos).thenComparing(t -> t.stage));
+        return sorted;
+    }
+
+    /**
+     * Longest chain of dependent stages by elapsed time. The pipeline can't
+     * finish faster than this path, however many threads it gets.
+     */
+    public List<Timing> criticalPath() {
+        Map<String, Timing> byStage = new HashMap<>();
+        for (Timing timing : timings) {
+            byStage.put(timing.stage, timing);
+        }
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+        for (Stage stage : topologicalOrder()) {
+            Timing timing = byStage.get(stage.name);
+            if (timing == null) continue;
+            long longest = 0;
+            for (Stage dependency : dependencies(stage)) {
+                Long upstream = finish.get(dependency.name);
+                if (upstream != null && upstream > longest) {
+                    longest = upstream;
+                    previous.put(stage.name, dependency.name);
+                }
+            }
+            finish.put(stage.name, longest + timing.elapsedNanos());
+            if (last == null || finish.get(stage.name) > finish.get(last)) {
+                last = stage.name;
+            }
+        }
+        Deque<Timing> path = new ArrayDeque<>();
+        for (String name = last; name != null; name = previous.get(name)) {
+            path.addFirst(byStage.get(name));
+        }
+        return new ArrayList<>(path);
+    }
+
+    public String timingReport() {
+        StringBuilder sb = new StringBuilder();
+        List<Timing> critical = criticalPath();
+        for (Timing timing : timings()) {
+            sb.append(String.format("  %-24s %6d ms +%6d ms  %s%s%n", timing.stage, timing.startNanos / 1_000_000,
+                    timing.elapsedNanos() / 1_000_000, timing.thread, critical.contains(timing) ? "  *" : ""));
+        }
+        long criticalNanos = 0;
+        List<String> names = new ArrayList<>();
+        for (Timing timing : critical) {
+            criticalNanos += timing.elapsedNanos();
+            names.add(timing.stage);
+        }
+        sb.append(String.format("  critical path (*): %s = %d ms of %d ms wall%n",
+                String.join(" -> ", names), criticalNanos / 1_000_000, wallNanos / 1_000_000));
+        return sb.toString();
+    }
+
+    private void run(List<Stage> order, CompletionService<Stage> completion) throws IOException {
+        Map<Stage, Integer> pending = new HashMap<>();
+        Map<Stage, List<Stage>> dependents = new HashMap<>();
+        for (Stage stage : order) {
+            List<Stage> dependencies = dependencies(stage);
+            pending.put(stage, dependencies.size());
+            for (Stage dependency : dependencies) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(stage);
+            }
+        }
+
+        long start = System.nanoTime();
+        int running = 0;
+        for (Stage stage : order) {
+            if (pending.get(stage) == 0) {
+                submit(completion, stage, start);
+                running++;
+            }
+        }
+        while (running > 0) {
+            Stage finished = await(completion);
+            running--;
+            for (Stage dependent : dependents.getOrDefault(finished, List.of())) {
+                int remaining = pending.merge(dependent, -1, Integer::sum);
+                if (remaining == 0) {
+                    submit(completion, dependent, start);
+                    running++;
+                }
+            }
+        }
+        wallNanos = System.nanoTime() - start;
+    }
+
+    private void submit(CompletionService<Stage> completion, Stage stage, long pipelineStart) {
+        completion.submit(() -> {
+            long begin = System.nanoTime();
+            try (Metrics.Span span = metrics.start(stage.name)) {
+                stage.task.run(new Artifacts(stage, span));
+            }
+            long end = System.nanoTime();
+            for (String output : stage.outputs) {
+                if (!values.containsKey(output)) {
+                    throw new IllegalStateException("Stage " + stage.name + " did not produce " + output);
+                }
+            }
+            timings.add(new Timing(stage.name, Thread.currentThread().getName(),
+                    begin - pipelineStart, end - pipelineStart));
+            return stage;
+        });
+    }
+
+    private Stage await(CompletionService<Stage> completion) throws IOException {
+        try {
+            Future<Stage> future = completion.take();
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running pipeline");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Pipeline stage failed", cause);
+        }
+    }
+
+    private List<Stage> dependencies(Stage stage) {
+        List<Stage> dependencies = new ArrayList<>();
+        for (String input : stage.inputs) {
+            Stage producer = producers.get(input);
+            if (producer == null) {
+                throw new IllegalStateException("No stage produces " + input + ", needed by " + stage.name);
+            }
+            if (!dependencies.contains(producer)) {
+                dependencies.add(producer);
+            }
+        }
+        return dependencies;
+    }
+
+    /** Stages in declaration order where possible, each after everything it depends on. */
+    private List<Stage> topologicalOrder() {
+        List<Stage> order = new ArrayList<>();
+        Map<Stage, Integer> state = new HashMap<>();
+        for (Stage stage : stages.values()) {
+            visit(stage, state, order);
+        }
+        return order;
+    }
+
+    private void visit(Stage stage, Map<Stage, Integer> state, List<Stage> order) {
+        Integer current = state.get(stage);
+        if (current != null) {
+            if (current == 1) {
+                throw new IllegalStateException("Cycle through stage " + stage.name);
+            }
+            return;
+        }
+        state.put(stage, 1);
+        for (Stage dependency : dependencies(stage)) {
+            visit(dependency, state, order);
+        }
+        state.put(stage, 2);
+        order.add(stage);
+    }
+
+    /** A stage's view of the artifacts: its declared inputs to read and outputs to put. */
+    public final class Artifacts {
+        private final Stage stage;
+        private final Metrics.Span span;
+
+        private Artifacts(Stage stage, Metrics.Span span) {
+            this.stage = stage;
+            this.span = span;
+        }
+
+        /** The running stage's span, for reporting rows and bytes. */
+        public Metrics.Span span() {
+            return span;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String artifact) {
+            if (!stage.inputs.contains(artifact)) {
+                throw new IllegalStateException("Stage " + stage.name + " did not declare input " + artifact);
+            }
+            return (T) values.get(artifact);
+        }
+
+        public void put(String artifact, Object value) {
+            if (!stage.outputs.contains(artifact)) {
+                throw new IllegalStateException("Stage " + stage.name + " did not declare output " + artifact);
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Stage " + stage.name + " produced null for " + artifact);
+            }
+            values.put(artifact, value);
+        }
+    }
+
+    public static final class Timing {
+        private final String stage;
+        private final String thread;
+        private final long startNanos;
+        private final long endNanos;
+
+        private Timing(String stage, String thread, long startNanos, long endNanos) {
+            this.stage = stage;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /** Offset from the pipeline start. */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public long elapsedNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final List<String> inputs;
+        private final List<String> outputs;
+        private final Task task;
+
+        private Stage(String name, List<String> inputs, List<String> outputs, Task task) {
+            this.name = name;
+            this.inputs = List.copyOf(inputs);
+            this.outputs = List.copyOf(outputs);
+            this.task = task;
+        }
+    }
+}
@@ -1,13 +1,32 @@
 package com.filmography.processing;
 
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
 
 import java.text.Normalizer;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+/**
+ * Normalizes raw text columns. Values that are already clean, which is almost
+ * every value, are returned as the same instance without allocating. Values
+ * that need work are rewritten in one pass into a reused buffer, so a cleaner
+ * instance must not be shared between threads. Rewritten notes are memoized,
+ * so repeated notes such as "Child artist" share one cleaned instance.
+ */
 public class DataCleaner {
-    private static final Pattern FOOTNOTE = Pattern.compile("\\[[a-z]\\]");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final char DAGGER = '†';
+    private static final int MAX_MEMOIZED_NOTES = 4096;
+
+    /** Film title text per non-ASCII char after decomposition and mark removal, filled lazily. */
+    private static final String[] DECOMPOSED = new String[Character.MAX_VALUE + 1];
+    private static final String NEEDS_NORMALIZER = new String("\u0000");
+
+    private final Map<String, String> rewrittenNotes = new HashMap<>();
+    private char[] buffer = new char[64];
 
     public void clean(List<Film> films) {
         for (Film film : films) {
@@ -17,22 +36,70 @@ public class DataCleaner {
         }
     }
 
+    /** Cleaned copy-on-write view of {@code raw}, which is left untouched and shares every unchanged column and value. */
+    public FilmTable clean(FilmTable raw) {
+        return raw.mapText(this::cleanFilm, this::cleanRole, this::cleanNotes);
+    }
+
     private String cleanFilm(String film) {
         if (film == null) {
             return null;
         }
-        String normalized = Normalizer.normalize(film, Normalizer.Form.NFD);
-        normalized = normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        normalized = normalized.replace("†", "");
-        return normalized.trim();
+        int length = film.length();
+        int i = 0;
+        while (i < length && film.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            return film.trim();
+        }
+
+        char[] out = buffer(length * 2);
+        film.getChars(0, i, out, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = film.charAt(i);
+            if (c < 0x80) {
+                out[size++] = c;
+                continue;
+            }
+            String replacement = decomposed(c);
+            if (replacement == NEEDS_NORMALIZER) {
+                return normalizeFilm(film);
+            }
+            if (size + replacement.length() > out.length) {
+                out = grow(size + replacement.length());
+            }
+            for (int r = 0; r < replacement.length(); r++) {
+                out[size++] = replacement.charAt(r);
+            }
+        }
+        return trimmed(film, out, size);
     }
 
     private String cleanRole(String role) {
         if (role == null) {
             return null;
         }
-        String cleaned = FOOTNOTE.matcher(role).replaceAll("");
-        return cleaned.trim();
+        int first = role.indexOf('[');
+        if (first < 0) {
+            return role.trim();
+        }
+
+        int length = role.length();
+        char[] out = buffer(length);
+        role.getChars(0, first, out, 0);
+        int size = first;
+        for (int i = first; i < length; i++) {
+            char c = role.charAt(i);
+            if (c == '[' && i + 2 < length && role.charAt(i + 2) == ']'
+                    && role.charAt(i + 1) >= 'a' && role.charAt(i + 1) <= 'z') {
+                i += 2;
+                continue;
+            }
+            out[size++] = c;
+        }
+        return trimmed(role, out, size);
     }
 
     private String cleanNotes(String notes) {
@@ -43,8 +110,117 @@ public class DataCleaner {
         if (cleaned.isEmpty()) {
             return null;
         }
-        cleaned = cleaned.replace("Child artist", "Child Actor");
-        cleaned = cleaned.replace("Extended Cameo", "Cameo");
-        return cleaned.trim();
+        if (cleaned.indexOf("Child artist") < 0 && cleaned.indexOf("Extended Cameo") < 0) {
+            return cleaned;
+        }
+        String memoized = rewrittenNotes.get(cleaned);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        int length = cleaned.length();
+        char[] out = buffer(length);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (cleaned.startsWith("Child artist", i)) {
+                size = append(out, size, "Child Actor");
+                i += "Child artist".length() - 1;
+            } else if (cleaned.startsWith("Extended Cameo", i)) {
+                size = append(out, size, "Cameo");
+                i += "Extended Cameo".length() - 1;
+            } else {
+                out[size++] = cleaned.charAt(i);
+            }
+        }
+        String rewritten = trimmed(cleaned, out, size);
+        if (rewrittenNotes.size() < MAX_MEMOIZED_NOTES) {
+            rewrittenNotes.put(cleaned, rewritten);
+        }
+        return rewritten;
+    }
+
+    /** The original normalization, used when a title has marks whose NFD ordering a per-char table can't reproduce. */
+    private String normalizeFilm(String film) {
+        String normalized = Normalizer.normalize(film, Normalizer.Form.NFD);
+        normalized = COMBINING_MARKS.matcher(normalized).replaceAll("");
+        normalized = normalized.replace("†", "");
+        return normalized.trim();
+    }
+
+    private static String decomposed(char c) {
+        String replacement = DECOMPOSED[c];
+        if (replacement == null) {
+            replacement = decompose(c);
+            DECOMPOSED[c] = replacement;
+        }
+        return replacement;
+    }
+
+    private static String decompose(char c) {
+        if (c == DAGGER || isDiacriticalMark(c)) {
+            return "";
+        }
+        if (Character.isSurrogate(c)) {
+            return NEEDS_NORMALIZER;
+        }
+        String nfd = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        StringBuilder kept = new StringBuilder(nfd.length());
+        for (int i = 0; i < nfd.length(); i++) {
+            char d = nfd.charAt(i);
+            if (isDiacriticalMark(d)) continue;
+            int type = Character.getType(d);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK) {
+                return NEEDS_NORMALIZER;
+            }
+            kept.append(d);
+        }
+        return kept.toString();
+    }
+
+    private static boolean isDiacriticalMark(char c) {
+        return c >= '\u0300' && c <= '\u036F';
+    }
+
+    /** Trims the buffer like {@link String#trim()} and reuses {@code original} if nothing changed. */
+    private static String trimmed(String original, char[] out, int size) {
+        int start = 0;
+        int end = size;
+        while (start < end && out[start] <= ' ') {
+            start++;
+        }
+        while (end > start && out[end - 1] <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == original.length()) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = out[start + i] == original.charAt(i);
+            }
+            if (same) {
+                return original;
+            }
+        }
+        return new String(out, start, length);
+    }
+
+    private static int append(char[] out, int size, String text) {
+        text.getChars(0, text.length(), out, size);
+        return size + text.length();
+    }
+
+    private char[] buffer(int capacity) {
+        if (buffer.length < capacity) {
+            buffer = new char[Math.max(capacity, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    private char[] grow(int capacity) {
+        char[] larger = new char[Math.max(capacity, buffer.length * 2)];
+        System.arraycopy(buffer, 0, larger, 0, buffer.length);
+        buffer = larger;
+        return buffer;
     }
 }
@@ -1,93 +1,302 @@
 package com.filmography.processing;
 
 import com.filmography.model.ActorMetadata;
+import com.filmography.model.ActorMetadataSource;
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+import com.filmography.pipeline.Metrics;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class FeatureEngineer {
     private static final Pattern SPECIAL = Pattern.compile("debut|cameo|hindi|playback|25th|50th|guest", Pattern.CASE_INSENSITIVE);
+    static final int ROWS_PER_TASK = 4096;
+
+    private final ForkJoinPool pool;
+
+    public FeatureEngineer() {
+        this(null);
+    }
+
+    /**
+     * Engineers actors in parallel on the given pool. Actors are split into
+     * tasks of roughly equal row counts, and prolific actors are further split
+     * by row range, so work stealing keeps all workers busy. A null pool keeps
+     * the sequential path; both produce identical features.
+     */
+    public FeatureEngineer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
 
     public void engineer(List<Film> films) {
-        Map<String, List<Film>> byActor = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor));
-
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            String actor = entry.getKey();
-            List<Film> actorFilms = new ArrayList<>(entry.getValue());
-            actorFilms.sort(Comparator.comparingInt(Film::getYear));
-
-            int debutYear = actorFilms.stream().mapToInt(Film::getYear).min().orElse(0);
-            int leadDebutYear = actorFilms.stream()
-                    .filter(f -> f.getNotes() == null || !f.getNotes().toLowerCase().contains("child actor"))
-                    .mapToInt(Film::getYear)
-                    .min().orElse(debutYear);
-
-            int birthYear = ActorMetadata.getBirthYear(actor);
-            int currentAge = ActorMetadata.getCurrentAge(actor);
-
-            Map<Integer, Long> moviesPerYear = actorFilms.stream()
-                    .collect(Collectors.groupingBy(Film::getYear, Collectors.counting()));
-
-            int cumulative = 0;
-            Integer previousYear = null;
-
-            for (Film film : actorFilms) {
-                int year = film.getYear();
-                cumulative += 1;
-
-                film.setDebutYear(debutYear);
-                film.setLeadDebutYear(leadDebutYear);
-                film.setCareerSpan(ActorMetadata.CURRENT_YEAR - debutYear);
-                film.setCareerPhase(careerPhase(year - debutYear));
-                film.setCumulativeMovies(cumulative);
-                film.setMoviesPerYear(moviesPerYear.getOrDefault(year, 0L).intValue());
-
-                if (previousYear == null) {
-                    film.setReleaseGap(0);
-                } else {
-                    film.setReleaseGap(year - previousYear);
-                }
-                previousYear = year;
-
-                film.setHighProductivity(film.getMoviesPerYear() != null && film.getMoviesPerYear() > 1);
-                film.setIsSpecial(isSpecial(film.getNotes()));
-                film.setAgeAtFilm(birthYear == 0 ? null : year - birthYear);
-                film.setAgeAtDebut(birthYear == 0 ? null : debutYear - birthYear);
-                film.setCurrentAge(currentAge == 0 ? null : currentAge);
-                film.setIsChildRole(isChildRole(film.getNotes()));
-                film.setIsUpcoming(year >= 2025);
+        FilmTable table = FilmTable.of(films);
+        engineer(table);
+        for (int row = 0; row < films.size(); row++) {
+            table.copyFeaturesTo(row, films.get(row));
+        }
+    }
+
+    public void engineer(FilmTable table) {
+        int[][] rowsByActor = table.rowsByActor();
+        if (pool == null) {
+            for (int actorCode = 0; actorCode < rowsByActor.length; actorCode++) {
+                engineerActor(table, actorCode, rowsByActor[actorCode], table::setFeatures);
             }
+            return;
         }
+
+        FeatureBuffer buffer = new FeatureBuffer(table.size());
+        pool.invoke(new ActorsTask(table, rowsByActor, 0, rowsByActor.length, buffer, Metrics.workers()));
+        buffer.applyTo(table);
     }
 
-    private String careerPhase(int careerAge) {
-        if (careerAge <= 5) {
-            return "Early";
+    private void engineerActor(FilmTable table, int actorCode, int[] rows, RowFeatures sink) {
+        if (rows.length == 0) {
+            return;
         }
-        if (careerAge <= 15) {
-            return "Growth";
+        ActorContext actor = new ActorContext(table, actorCode, rows);
+        computeRange(table, actor, 0, rows.length, sink);
+    }
+
+    /** Features of {@code rows[from, to)}, one actor's rows in career order, written to the table. */
+    void engineerRange(FilmTable table, int actorCode, int[] rows, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        computeRange(table, new ActorContext(table, actorCode, rows), from, to, table::setFeatures);
+    }
+
+    /**
+     * Computes features for {@code actor.rows[from, to)}; any sub-range yields the same values as a full pass.
+     * The year-derived features are filled column by column from the actor's year array, then handed to the
+     * sink row by row together with the note flags.
+     */
+    private void computeRange(FilmTable table, ActorContext actor, int from, int to, RowFeatures sink) {
+        int[] rows = actor.rows;
+        int[] years = actor.years;
+        int debutYear = actor.debutYear;
+        int careerSpan = ActorMetadata.CURRENT_YEAR - debutYear;
+        int ageAtDebut = actor.birthYear == 0 ? FilmTable.NULL : debutYear - actor.birthYear;
+        int currentAge = actor.currentAge == 0 ? FilmTable.NULL : actor.currentAge;
+
+        int length = to - from;
+        int[] phases = new int[length];
+        int[] perYear = new int[length];
+        int[] gaps = new int[length];
+        int[] ages = new int[length];
+        int[] upcoming = new int[length];
+        YearKernels.phaseCodes(years, debutYear, from, to, phases);
+        YearKernels.moviesPerYear(years, from, to, perYear);
+        YearKernels.releaseGaps(years, from, to, gaps);
+        YearKernels.yearsSince(years, actor.birthYear, from, to, ages);
+        YearKernels.upcoming(years, from, to, upcoming);
+
+        for (int k = 0; k < length; k++) {
+            int row = rows[from + k];
+            String notes = table.notes(row);
+            sink.set(row,
+                    debutYear,
+                    actor.leadDebutYear,
+                    careerSpan,
+                    phases[k],
+                    from + k + 1,
+                    perYear[k],
+                    gaps[k],
+                    ages[k],
+                    ageAtDebut,
+                    currentAge,
+                    perYear[k] > 1,
+                    isSpecial(notes),
+                    isChildRole(notes),
+                    upcoming[k] != 0);
         }
-        return "Peak";
     }
 
-    private boolean isSpecial(String notes) {
+    static boolean isSpecial(String notes) {
         if (notes == null) {
             return false;
         }
         return SPECIAL.matcher(notes).find();
     }
 
-    private boolean isChildRole(String notes) {
+    static boolean isChildRole(String notes) {
         if (notes == null) {
             return false;
         }
         return notes.toLowerCase().contains("child actor");
     }
+
+    private interface RowFeatures {
+        void set(int row, int debutYear, int leadDebutYear, int careerSpan, int phaseCode,
+                 int cumulative, int perYear, int releaseGap, int ageAtFilm, int ageAtDebut,
+                 int currentAge, boolean highProductivity, boolean special, boolean childRole,
+                 boolean upcoming);
+    }
+
+    private static final class ActorContext {
+        private final int[] rows;
+        private final int[] years;
+        private final int debutYear;
+        private final int leadDebutYear;
+        private final int birthYear;
+        private final int currentAge;
+
+        private ActorContext(FilmTable table, int actorCode, int[] rows) {
+            String actor = table.actorName(actorCode);
+            this.rows = rows;
+            this.years = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                years[i] = table.year(rows[i]);
+            }
+            this.debutYear = years[0];
+            int lead = debutYear;
+            for (int row : rows) {
+                if (!isChildRole(table.notes(row))) {
+                    lead = table.year(row);
+                    break;
+                }
+            }
+            this.leadDebutYear = lead;
+            ActorMetadataSource metadata = ActorMetadata.store();
+            int id = metadata.id(actor);
+            this.birthYear = id < 0 ? 0 : metadata.birthYear(id);
+            this.currentAge = id < 0 ? 0 : metadata.currentAge(id);
+        }
+    }
+
+    /**
+     * Row-indexed feature storage that parallel tasks can fill without
+     * coordination; the table's bitsets are only written by {@link #applyTo}.
+     */
+    private static final class FeatureBuffer implements RowFeatures {
+        private static final int HIGH_PRODUCTIVITY = 1;
+        private static final int SPECIAL = 2;
+        private static final int CHILD_ROLE = 4;
+        private static final int UPCOMING = 8;
+
+        private final int[][] ints;
+        private final byte[] phases;
+        private final byte[] flags;
+        private final boolean[] written;
+
+        private FeatureBuffer(int size) {
+            this.ints = new int[9][size];
+            this.phases = new byte[size];
+            this.flags = new byte[size];
+            this.written = new boolean[size];
+        }
+
+        @Override
+        public void set(int row, int debutYear, int leadDebutYear, int careerSpan, int phaseCode,
+                        int cumulative, int perYear, int releaseGap, int ageAtFilm, int ageAtDebut,
+                        int currentAge, boolean highProductivity, boolean special, boolean childRole,
+                        boolean upcoming) {
+            ints[0][row] = debutYear;
+            ints[1][row] = leadDebutYear;
+            ints[2][row] = careerSpan;
+            ints[3][row] = cumulative;
+            ints[4][row] = perYear;
+            ints[5][row] = releaseGap;
+            ints[6][row] = ageAtFilm;
+            ints[7][row] = ageAtDebut;
+            ints[8][row] = currentAge;
+            phases[row] = (byte) phaseCode;
+            flags[row] = (byte) ((highProductivity ? HIGH_PRODUCTIVITY : 0) | (special ? SPECIAL : 0)
+                    | (childRole ? CHILD_ROLE : 0) | (upcoming ? UPCOMING : 0));
+            written[row] = true;
+        }
+
+        private void applyTo(FilmTable table) {
+            for (int row = 0; row < written.length; row++) {
+                if (!written[row]) continue;
+                int f = flags[row];
+                table.setFeatures(row, ints[0][row], ints[1][row], ints[2][row], phases[row],
+                        ints[3][row], ints[4][row], ints[5][row], ints[6][row], ints[7][row], ints[8][row],
+                        (f & HIGH_PRODUCTIVITY) != 0, (f & SPECIAL) != 0, (f & CHILD_ROLE) != 0, (f & UPCOMING) != 0);
+            }
+        }
+    }
+
+    private final class ActorsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FilmTable table;
+        private final int[][] rowsByActor;
+        private final int from;
+        private final int to;
+        private final FeatureBuffer buffer;
+        private final Metrics.Workers workers;
+
+        private ActorsTask(FilmTable table, int[][] rowsByActor, int from, int to, FeatureBuffer buffer,
+                           Metrics.Workers workers) {
+            this.table = table;
+            this.rowsByActor = rowsByActor;
+            this.from = from;
+            this.to = to;
+            this.buffer = buffer;
+            this.workers = workers;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int[] rows = rowsByActor[from];
+                if (rows.length > 0) {
+                    ActorContext actor = new ActorContext(table, from, rows);
+                    new RowsTask(table, actor, 0, rows.length, buffer, workers).compute();
+                }
+                return;
+            }
+            long rows = 0;
+            for (int actor = from; actor < to; actor++) {
+                rows += rowsByActor[actor].length;
+            }
+            if (rows <= ROWS_PER_TASK) {
+                workers.run(() -> {
+                    for (int actor = from; actor < to; actor++) {
+                        engineerActor(table, actor, rowsByActor[actor], buffer);
+                    }
+                });
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ActorsTask(table, rowsByActor, from, mid, buffer, workers),
+                    new ActorsTask(table, rowsByActor, mid, to, buffer, workers));
+        }
+    }
+
+    private final class RowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FilmTable table;
+        private final ActorContext actor;
+        private final int from;
+        private final int to;
+        private final FeatureBuffer buffer;
+        private final Metrics.Workers workers;
+
+        private RowsTask(FilmTable table, ActorContext actor, int from, int to, FeatureBuffer buffer,
+                         Metrics.Workers workers) {
+            this.table = table;
+            this.actor = actor;
+            this.from = from;
+            this.to = to;
+            this.buffer = buffer;
+            this.workers = workers;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                workers.run(() -> computeRange(table, actor, from, to, buffer));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowsTask(table, actor, from, mid, buffer, workers),
+                    new RowsTask(table, actor, mid, to, buffer, workers));
+        }
+    }
 }
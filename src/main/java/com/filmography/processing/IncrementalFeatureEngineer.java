@@ -0,0 +1,132 @@
+package com.filmography.processing;
+
+import com.filmography.model.FilmTable;
+
+import java.util.Objects;
+
+/**
+ * Feature engineering that starts from a previously engineered table when the
+ * new table only adds rows to it, such as films appended to the raw CSVs.
+ * Each actor's rows are compared in career order: the leading rows that match
+ * the previous table keep their features, except those released in the year
+ * of the first added film, which may have gained films; everything from there
+ * on is recomputed. If the added films move an actor's debut, lead debut or
+ * ages, the whole actor is recomputed. Produces the same values as
+ * {@link FeatureEngineer}.
+ */
+public class IncrementalFeatureEngineer {
+    private final FeatureEngineer engineer = new FeatureEngineer();
+
+    /**
+     * Engineers {@code table} from {@code previous} and returns the number of
+     * rows that did not keep their previous features, or -1 without touching
+     * {@code table} if it is not {@code previous} plus added rows: an actor is
+     * gone, or one of their previous films is missing or changed.
+     */
+    public int engineer(FilmTable previous, FilmTable table) {
+        int[][] previousRowsByActor = previous.rowsByActor();
+        int[][] rowsByActor = table.rowsByActor();
+
+        int[] previousCodes = new int[rowsByActor.length];
+        int[] prefixes = new int[rowsByActor.length];
+        int previousActors = 0;
+        for (int[] rows : previousRowsByActor) {
+            if (rows.length > 0) {
+                previousActors++;
+            }
+        }
+        for (int code = 0; code < rowsByActor.length; code++) {
+            int previousCode = previous.actorCode(table.actorName(code));
+            previousCodes[code] = previousCode;
+            if (previousCode < 0 || previousRowsByActor[previousCode].length == 0) {
+                continue;
+            }
+            int prefix = matchedPrefix(previous, previousRowsByActor[previousCode], table, rowsByActor[code]);
+            if (prefix < 0) {
+                return -1;
+            }
+            prefixes[code] = prefix;
+            previousActors--;
+        }
+        if (previousActors > 0) {
+            return -1;
+        }
+
+        int recomputed = 0;
+        for (int code = 0; code < rowsByActor.length; code++) {
+            int[] rows = rowsByActor[code];
+            if (rows.length == 0) {
+                continue;
+            }
+            engineer.engineerRange(table, code, rows, 0, 1);
+            int previousCode = previousCodes[code];
+            int from = 0;
+            if (previousCode >= 0 && previousRowsByActor[previousCode].length > 0) {
+                int[] previousRows = previousRowsByActor[previousCode];
+                if (sameActorFeatures(previous, previousRows[0], table, rows[0])) {
+                    from = firstOfYear(table, rows, prefixes[code]);
+                    for (int i = 1; i < from; i++) {
+                        table.copyFeatures(rows[i], previous, previousRows[i]);
+                    }
+                }
+            }
+            engineer.engineerRange(table, code, rows, Math.max(from, 1), rows.length);
+            recomputed += rows.length - from;
+        }
+        return recomputed;
+    }
+
+    /**
+     * Number of leading rows, in career order, that equal the previous rows, or
+     * -1 unless every previous row is matched, in order, somewhere in
+     * {@code rows} and carries features.
+     */
+    private static int matchedPrefix(FilmTable previous, int[] previousRows, FilmTable table, int[] rows) {
+        int prefix = -1;
+        int i = 0;
+        for (int previousRow : previousRows) {
+            if (!previous.isEngineered(previousRow)) {
+                return -1;
+            }
+            while (i < rows.length && !sameFilm(previous, previousRow, table, rows[i])) {
+                if (prefix < 0) {
+                    prefix = i;
+                }
+                i++;
+            }
+            if (i == rows.length) {
+                return -1;
+            }
+            i++;
+        }
+        return prefix < 0 ? previousRows.length : prefix;
+    }
+
+    /** Start of the run of films released in the same year as {@code rows[index]}; {@code rows.length} stays. */
+    private static int firstOfYear(FilmTable table, int[] rows, int index) {
+        if (index == rows.length) {
+            return index;
+        }
+        int year = table.year(rows[index]);
+        while (index > 0 && table.year(rows[index - 1]) == year) {
+            index--;
+        }
+        return index;
+    }
+
+    private static boolean sameFilm(FilmTable a, int rowA, FilmTable b, int rowB) {
+        return a.year(rowA) == b.year(rowB)
+                && Objects.equals(a.film(rowA), b.film(rowB))
+                && Objects.equals(a.role(rowA), b.role(rowB))
+                && Objects.equals(a.notes(rowA), b.notes(rowB));
+    }
+
+    /** Features every film of an actor shares, which also pin down the birth year. */
+    private static boolean sameActorFeatures(FilmTable a, int rowA, FilmTable b, int rowB) {
+        return a.debutYear(rowA) == b.debutYear(rowB)
+                && a.leadDebutYear(rowA) == b.leadDebutYear(rowB)
+                && a.careerSpan(rowA) == b.careerSpan(rowB)
+                && a.ageAtDebut(rowA) == b.ageAtDebut(rowB)
+                && a.currentAge(rowA) == b.currentAge(rowB);
+    }
+}
@@ -0,0 +1,302 @@
+package com.filmography.processing;
+
+import com.filmography.model.ActorMetadata;
+import com.filmography.model.FilmTable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+
+/**
+ * The features of {@link FeatureEngineer}, computed per column on first use.
+ * Each {@link Feature} declares the features it is derived from; asking for a
+ * column computes its missing dependencies, then the column itself, for every
+ * row at once, and keeps it. A consumer reading two features pays for those
+ * two and what they need, not all of them. Values are the same as the eager
+ * engineer's. Safe for concurrent use; a column is computed at most once.
+ */
+public final class LazyFeatures implements FilmTable.FeatureColumns {
+
+    /** Derived columns in dependency order; besides these, features read the table's actors, years and notes. */
+    public enum Feature {
+        /** From the actor metadata; not a table feature, shared by the ages. */
+        BIRTH_YEAR,
+        DEBUT_YEAR,
+        IS_CHILD_ROLE,
+        LEAD_DEBUT_YEAR(DEBUT_YEAR, IS_CHILD_ROLE),
+        CAREER_SPAN(DEBUT_YEAR),
+        CAREER_PHASE(DEBUT_YEAR),
+        CUMULATIVE_MOVIES,
+        MOVIES_PER_YEAR,
+        RELEASE_GAP,
+        HIGH_PRODUCTIVITY(MOVIES_PER_YEAR),
+        IS_SPECIAL,
+        AGE_AT_FILM(BIRTH_YEAR),
+        AGE_AT_DEBUT(BIRTH_YEAR, DEBUT_YEAR),
+        CURRENT_AGE(BIRTH_YEAR),
+        IS_UPCOMING;
+
+        private final List<Feature> dependencies;
+
+        Feature(Feature... dependencies) {
+            this.dependencies = List.of(dependencies);
+        }
+
+        public List<Feature> dependencies() {
+            return dependencies;
+        }
+    }
+
+    private static final Feature[] FEATURES = Feature.values();
+
+    private final FilmTable table;
+    private final AtomicReferenceArray<Object> columns = new AtomicReferenceArray<>(FEATURES.length);
+    private int[][] rowsByActor;
+    private int[][] yearsByActor;
+
+    private LazyFeatures(FilmTable table) {
+        this.table = table;
+    }
+
+    /** Switches {@code table} to features computed on first use and returns them. */
+    public static LazyFeatures attach(FilmTable table) {
+        LazyFeatures features = new LazyFeatures(table);
+        table.useLazyFeatures(features);
+        return features;
+    }
+
+    /** Features computed so far, including dependencies. */
+    public Set<Feature> computed() {
+        Set<Feature> computed = EnumSet.noneOf(Feature.class);
+        for (Feature feature : FEATURES) {
+            if (columns.get(feature.ordinal()) != null) {
+                computed.add(feature);
+            }
+        }
+        return computed;
+    }
+
+    @Override
+    public int[] debutYears() {
+        return (int[]) column(Feature.DEBUT_YEAR);
+    }
+
+    @Override
+    public int[] leadDebutYears() {
+        return (int[]) column(Feature.LEAD_DEBUT_YEAR);
+    }
+
+    @Override
+    public int[] careerSpans() {
+        return (int[]) column(Feature.CAREER_SPAN);
+    }
+
+    @Override
+    public byte[] phaseCodes() {
+        return (byte[]) column(Feature.CAREER_PHASE);
+    }
+
+    @Override
+    public int[] cumulativeMovies() {
+        return (int[]) column(Feature.CUMULATIVE_MOVIES);
+    }
+
+    @Override
+    public int[] moviesPerYear() {
+        return (int[]) column(Feature.MOVIES_PER_YEAR);
+    }
+
+    @Override
+    public int[] releaseGaps() {
+        return (int[]) column(Feature.RELEASE_GAP);
+    }
+
+    @Override
+    public int[] agesAtFilm() {
+        return (int[]) column(Feature.AGE_AT_FILM);
+    }
+
+    @Override
+    public int[] agesAtDebut() {
+        return (int[]) column(Feature.AGE_AT_DEBUT);
+    }
+
+    @Override
+    public int[] currentAges() {
+        return (int[]) column(Feature.CURRENT_AGE);
+    }
+
+    @Override
+    public BitSet highProductivity() {
+        return (BitSet) column(Feature.HIGH_PRODUCTIVITY);
+    }
+
+    @Override
+    public BitSet special() {
+        return (BitSet) column(Feature.IS_SPECIAL);
+    }
+
+    @Override
+    public BitSet childRole() {
+        return (BitSet) column(Feature.IS_CHILD_ROLE);
+    }
+
+    @Override
+    public BitSet upcoming() {
+        return (BitSet) column(Feature.IS_UPCOMING);
+    }
+
+    private Object column(Feature feature) {
+        Object column = columns.get(feature.ordinal());
+        if (column != null) {
+            return column;
+        }
+        synchronized (this) {
+            column = columns.get(feature.ordinal());
+            if (column == null) {
+                for (Feature dependency : feature.dependencies()) {
+                    column(dependency);
+                }
+                column = compute(feature);
+                columns.set(feature.ordinal(), column);
+            }
+            return column;
+        }
+    }
+
+    private Object compute(Feature feature) {
+        switch (feature) {
+            case BIRTH_YEAR: {
+                int[] birthYears = ActorMetadata.store().birthYears(table);
+                return perRow((actor, rows, years, out) -> fill(out, birthYears[actor]));
+            }
+            case DEBUT_YEAR:
+                return perRow((actor, rows, years, out) -> fill(out, years[0]));
+            case IS_CHILD_ROLE:
+                return flags(row -> FeatureEngineer.isChildRole(table.notes(row)));
+            case LEAD_DEBUT_YEAR: {
+                BitSet childRoles = childRole();
+                return perRow((actor, rows, years, out) -> {
+                    int lead = years[0];
+                    for (int i = 0; i < rows.length; i++) {
+                        if (!childRoles.get(rows[i])) {
+                            lead = years[i];
+                            break;
+                        }
+                    }
+                    fill(out, lead);
+                });
+            }
+            case CAREER_SPAN: {
+                int[] debutYears = debutYears();
+                return perRow((actor, rows, years, out) -> fill(out, ActorMetadata.CURRENT_YEAR - debutYears[rows[0]]));
+            }
+            case CAREER_PHASE: {
+                int[] debutYears = debutYears();
+                int[] codes = perRow((actor, rows, years, out) ->
+                        YearKernels.phaseCodes(years, debutYears[rows[0]], 0, years.length, out));
+                byte[] phases = new byte[codes.length];
+                for (int row = 0; row < codes.length; row++) {
+                    phases[row] = (byte) codes[row];
+                }
+                return phases;
+            }
+            case CUMULATIVE_MOVIES:
+                return perRow((actor, rows, years, out) -> {
+                    for (int i = 0; i < out.length; i++) {
+                        out[i] = i + 1;
+                    }
+                });
+            case MOVIES_PER_YEAR:
+                return perRow((actor, rows, years, out) -> YearKernels.moviesPerYear(years, 0, years.length, out));
+            case RELEASE_GAP:
+                return perRow((actor, rows, years, out) -> YearKernels.releaseGaps(years, 0, years.length, out));
+            case HIGH_PRODUCTIVITY: {
+                int[] perYear = moviesPerYear();
+                return flags(row -> perYear[row] > 1);
+            }
+            case IS_SPECIAL:
+                return flags(row -> FeatureEngineer.isSpecial(table.notes(row)));
+            case AGE_AT_FILM: {
+                int[] birthYears = (int[]) column(Feature.BIRTH_YEAR);
+                return perRow((actor, rows, years, out) ->
+                        YearKernels.yearsSince(years, birthYears[rows[0]], 0, years.length, out));
+            }
+            case AGE_AT_DEBUT: {
+                int[] birthYears = (int[]) column(Feature.BIRTH_YEAR);
+                int[] debutYears = debutYears();
+                return perRow((actor, rows, years, out) -> {
+                    int birthYear = birthYears[rows[0]];
+                    fill(out, birthYear == 0 ? FilmTable.NULL : debutYears[rows[0]] - birthYear);
+                });
+            }
+            case CURRENT_AGE: {
+                int[] birthYears = (int[]) column(Feature.BIRTH_YEAR);
+                return perRow((actor, rows, years, out) -> {
+                    int birthYear = birthYears[rows[0]];
+                    int age = birthYear == 0 ? 0 : ActorMetadata.CURRENT_YEAR - birthYear;
+                    fill(out, age == 0 ? FilmTable.NULL : age);
+                });
+            }
+            case IS_UPCOMING:
+                return flags(row -> YearKernels.upcoming(table.year(row)) != 0);
+            default:
+                throw new IllegalArgumentException("Unknown feature " + feature);
+        }
+    }
+
+    /** Fills a row-indexed column actor by actor, with each actor's rows and years in career order. */
+    private int[] perRow(ActorPass pass) {
+        careerOrder();
+        int[] column = new int[table.size()];
+        for (int actor = 0; actor < rowsByActor.length; actor++) {
+            int[] rows = rowsByActor[actor];
+            if (rows.length == 0) {
+                continue;
+            }
+            int[] out = new int[rows.length];
+            pass.fill(actor, rows, yearsByActor[actor], out);
+            for (int i = 0; i < rows.length; i++) {
+                column[rows[i]] = out[i];
+            }
+        }
+        return column;
+    }
+
+    private BitSet flags(IntPredicate test) {
+        BitSet flags = new BitSet(table.size());
+        for (int row = 0; row < table.size(); row++) {
+            if (test.test(row)) {
+                flags.set(row);
+            }
+        }
+        return flags;
+    }
+
+    private void careerOrder() {
+        if (rowsByActor == null) {
+            int[][] rows = table.rowsByActor();
+            int[][] years = new int[rows.length][];
+            for (int actor = 0; actor < rows.length; actor++) {
+                years[actor] = new int[rows[actor].length];
+                for (int i = 0; i < rows[actor].length; i++) {
+                    years[actor][i] = table.year(rows[actor][i]);
+                }
+            }
+            rowsByActor = rows;
+            yearsByActor = years;
+        }
+    }
+
+    private static void fill(int[] out, int value) {
+        Arrays.fill(out, value);
+    }
+
+    private interface ActorPass {
+        void fill(int actor, int[] rows, int[] years, int[] out);
+    }
+}
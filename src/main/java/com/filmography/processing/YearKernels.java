@@ -0,0 +1,88 @@
+package com.filmography.processing;
+
+import com.filmography.model.FilmTable;
+
+/**
+ * Feature passes over one actor's film years in career order. Each pass fills
+ * {@code out[0, to - from)} for {@code years[from, to)} with a plain counted
+ * loop and no branches in the body, so C2 can unroll and vectorize it. Only
+ * {@link #moviesPerYear} carries state between elements.
+ */
+public final class YearKernels {
+    static final int UPCOMING_YEAR = 2025;
+
+    private YearKernels() {
+    }
+
+    /** Years since the previous film, 0 for the first film. */
+    static void releaseGaps(int[] years, int from, int to, int[] out) {
+        int start = from;
+        if (start == 0 && to > 0) {
+            out[0] = 0;
+            start = 1;
+        }
+        for (int i = start; i < to; i++) {
+            out[i - from] = years[i] - years[i - 1];
+        }
+    }
+
+    /** {@code year - baseYear}, or {@link FilmTable#NULL} throughout if {@code baseYear} is 0 (unknown). */
+    static void yearsSince(int[] years, int baseYear, int from, int to, int[] out) {
+        if (baseYear == 0) {
+            for (int i = from; i < to; i++) {
+                out[i - from] = FilmTable.NULL;
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i - from] = years[i] - baseYear;
+        }
+    }
+
+    /**
+     * Phase code into {@link FilmTable#PHASES}: Early up to 5 years after the
+     * debut, Growth up to 15, Peak after. {@code (limit - age) >>> 31} is 1
+     * exactly when {@code age > limit}.
+     */
+    static int phaseCode(int careerAge) {
+        return ((5 - careerAge) >>> 31) + ((15 - careerAge) >>> 31);
+    }
+
+    static void phaseCodes(int[] years, int debutYear, int from, int to, int[] out) {
+        for (int i = from; i < to; i++) {
+            out[i - from] = phaseCode(years[i] - debutYear);
+        }
+    }
+
+    /** 1 for a film from {@link #UPCOMING_YEAR} on, else 0. */
+    static int upcoming(int year) {
+        return ((UPCOMING_YEAR - 1) - year) >>> 31;
+    }
+
+    static void upcoming(int[] years, int from, int to, int[] out) {
+        for (int i = from; i < to; i++) {
+            out[i - from] = upcoming(years[i]);
+        }
+    }
+
+    /** Films in the same year as this one, including runs that extend outside {@code [from, to)}. */
+    static void moviesPerYear(int[] years, int from, int to, int[] out) {
+        int runStart = from;
+        while (runStart > 0 && years[runStart - 1] == years[from]) {
+            runStart--;
+        }
+        int i = from;
+        while (i < to) {
+            int runEnd = i + 1;
+            while (runEnd < years.length && years[runEnd] == years[i]) {
+                runEnd++;
+            }
+            int count = runEnd - runStart;
+            int stop = Math.min(runEnd, to);
+            for (; i < stop; i++) {
+                out[i - from] = count;
+            }
+            runStart = runEnd;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.filmography.visualization;
 
+import com.filmography.analysis.YearHistogram;
 import com.filmography.model.ActorMetadata;
 import com.filmography.model.Film;
+import com.filmography.model.FilmTable;
+import com.filmography.pipeline.Metrics;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtils;
 import org.jfree.chart.JFreeChart;
@@ -29,14 +32,17 @@ import java.awt.Color;
 import java.awt.Font;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.text.DecimalFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ChartGenerator {
 
@@ -47,46 +53,179 @@ public class ChartGenerator {
     private static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 18);
     private static final Font LABEL_FONT = new Font("SansSerif", Font.BOLD, 13);
     private static final Font TICK_FONT = new Font("SansSerif", Font.PLAIN, 11);
+    private static final String[] AGE_BRACKETS = {"10-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50+"};
+    private static final String[] AGE_GROUPS_5_YEAR = {"10-14", "15-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50-54"};
+
+    private final int threads;
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+
+    public ChartGenerator() {
+        this(1);
+    }
+
+    /** Renders up to {@code threads} charts concurrently; 1 keeps the sequential path. */
+    public ChartGenerator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
 
     public void generateBefore(List<Film> films, String outputDir) throws IOException {
+        generateBefore(FilmTable.of(films), outputDir);
+    }
+
+    public void generateBefore(FilmTable films, String outputDir) throws IOException {
+        generateBefore(films, outputDir, "before");
+    }
+
+    /** Renders the raw-data charts into {@code outputDir}; timings are recorded under {@code label}. */
+    public void generateBefore(FilmTable films, String outputDir, String label) throws IOException {
         new File(outputDir).mkdirs();
-        moviesPerYearChart(films, outputDir + "/movies_per_year.png");
-        careerTimelineChart(films, outputDir + "/career_timeline.png");
-        ageVsProductivityBefore(films, outputDir + "/age_vs_productivity.png");
-        childVsLeadChart(films, outputDir + "/child_vs_lead.png");
-        fiveYearProductivity(films, outputDir + "/five_year_productivity.png");
-        decadeWiseChart(films, outputDir + "/decade_wise.png");
-        careerPhaseByActorChart(films, outputDir + "/career_phase_by_actor.png");
+        render(outputDir, label, beforeCharts(films));
     }
 
     public void generateAfter(List<Film> films, String outputDir) throws IOException {
+        generateAfter(FilmTable.of(films), outputDir);
+    }
+
+    public void generateAfter(FilmTable films, String outputDir) throws IOException {
+        generateAfter(films, outputDir, "after");
+    }
+
+    /** Renders the processed-data charts into {@code outputDir}; timings are recorded under {@code label}. */
+    public void generateAfter(FilmTable films, String outputDir, String label) throws IOException {
         new File(outputDir).mkdirs();
-        moviesPerYearChart(films, outputDir + "/movies_per_year.png");
-        careerTimelineChart(films, outputDir + "/career_timeline.png");
-        careerPhaseChart(films, outputDir + "/career_phase_distribution.png");
-        ageVsProductivity(films, outputDir + "/age_vs_productivity.png");
-        ageCareerComparison(films, outputDir + "/age_career_comparison.png");
-        childVsLeadChart(films, outputDir + "/child_vs_lead.png");
-        fiveYearProductivity(films, outputDir + "/five_year_productivity.png");
-        decadeWiseChart(films, outputDir + "/decade_wise.png");
-        releaseGapChart(films, outputDir + "/release_gap.png");
-        careerPhaseByActorChart(films, outputDir + "/career_phase_by_actor.png");
-        productivityTrendChart(films, outputDir + "/productivity_trend.png");
-    }
-
-    private void moviesPerYearChart(List<Film> films, String path) throws IOException {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, Map<Integer, Long>> counts = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(Film::getYear, TreeMap::new, Collectors.counting())));
+        render(outputDir, label, afterCharts(films));
+    }
+
+    /** File names of the charts rendered by {@link #generateAfter} or, if not processed, {@link #generateBefore}. */
+    public List<String> chartNames(boolean processed) {
+        FilmTable empty = new FilmTable.Builder().build();
+        return new ArrayList<>((processed ? afterCharts(empty) : beforeCharts(empty)).keySet());
+    }
 
-        Set<Integer> allYears = new TreeSet<>();
-        counts.values().forEach(m -> allYears.addAll(m.keySet()));
+    /** Renders one chart, e.g. {@code release_gap.png}, to {@code path} without recording a timing. */
+    public void renderChart(FilmTable films, boolean processed, String chart, String path) throws IOException {
+        ChartTask task = (processed ? afterCharts(films) : beforeCharts(films)).get(chart);
+        if (task == null) {
+            throw new IllegalArgumentException("Unknown chart: " + chart);
+        }
+        task.render(path);
+    }
+
+    private Map<String, ChartTask> beforeCharts(FilmTable films) {
+        YearHistogram years = YearHistogram.of(films);
+        Map<String, ChartTask> charts = new LinkedHashMap<>();
+        charts.put("movies_per_year.png", path -> moviesPerYearChart(films, years, path));
+        charts.put("career_timeline.png", path -> careerTimelineChart(films, years, path));
+        charts.put("age_vs_productivity.png", path -> ageVsProductivityBefore(films, path));
+        charts.put("child_vs_lead.png", path -> childVsLeadChart(films, path));
+        charts.put("five_year_productivity.png", path -> fiveYearProductivity(films, years, path));
+        charts.put("decade_wise.png", path -> decadeWiseChart(films, years, path));
+        charts.put("career_phase_by_actor.png", path -> careerPhaseByActorChart(films, path));
+        return charts;
+    }
 
-        for (Integer year : allYears) {
-            for (String actor : counts.keySet()) {
-                long count = counts.get(actor).getOrDefault(year, 0L);
-                dataset.addValue(count, actor, String.valueOf(year));
+    private Map<String, ChartTask> afterCharts(FilmTable films) {
+        YearHistogram years = YearHistogram.of(films);
+        Map<String, ChartTask> charts = new LinkedHashMap<>();
+        charts.put("movies_per_year.png", path -> moviesPerYearChart(films, years, path));
+        charts.put("career_timeline.png", path -> careerTimelineChart(films, years, path));
+        charts.put("career_phase_distribution.png", path -> careerPhaseChart(films, path));
+        charts.put("age_vs_productivity.png", path -> ageVsProductivity(films, path));
+        charts.put("age_career_comparison.png", path -> ageCareerComparison(films, path));
+        charts.put("child_vs_lead.png", path -> childVsLeadChart(films, path));
+        charts.put("five_year_productivity.png", path -> fiveYearProductivity(films, years, path));
+        charts.put("decade_wise.png", path -> decadeWiseChart(films, years, path));
+        charts.put("release_gap.png", path -> releaseGapChart(films, path));
+        charts.put("career_phase_by_actor.png", path -> careerPhaseByActorChart(films, path));
+        charts.put("productivity_trend.png", path -> productivityTrendChart(films, path));
+        return charts;
+    }
+
+    /** Render time in milliseconds per chart, keyed by chart set label and file name, e.g. {@code before/decade_wise.png}. */
+    public Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    public String timingReport() {
+        StringBuilder sb = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : getTimings().entrySet()) {
+            sb.append(String.format("  %-40s %6d ms%n", entry.getKey(), entry.getValue()));
+            total += entry.getValue();
+        }
+        sb.append(String.format("  %-40s %6d ms (%d thread(s))%n", "total chart time", total, threads));
+        return sb.toString();
+    }
+
+    private void render(String outputDir, String label, Map<String, ChartTask> charts) throws IOException {
+        List<String> names = new ArrayList<>(charts.keySet());
+        long[] elapsed = new long[names.size()];
+
+        if (threads == 1) {
+            for (int i = 0; i < names.size(); i++) {
+                elapsed[i] = renderTimed(charts.get(names.get(i)), outputDir + "/" + names.get(i));
+            }
+        } else {
+            Metrics.Workers workers = Metrics.workers();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, names.size()));
+            try {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (String name : names) {
+                    ChartTask task = charts.get(name);
+                    futures.add(executor.submit(workers.wrap(() -> renderTimed(task, outputDir + "/" + name))));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    elapsed[i] = await(futures.get(i));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        synchronized (timings) {
+            for (int i = 0; i < names.size(); i++) {
+                timings.put(label + "/" + names.get(i), elapsed[i]);
+            }
+        }
+    }
+
+    private long renderTimed(ChartTask task, String path) throws IOException {
+        long start = System.nanoTime();
+        task.render(path);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long await(Future<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering charts");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Chart rendering failed", cause);
+        }
+    }
+
+    private interface ChartTask {
+        void render(String path) throws IOException;
+    }
+
+    private void moviesPerYearChart(FilmTable films, YearHistogram years, String path) throws IOException {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        int[] actors = actorsPresent(films);
+
+        for (int year : years.years()) {
+            for (int actor : actors) {
+                dataset.addValue((long) years.count(actor, year), films.actorName(actor), String.valueOf(year));
             }
         }
 
@@ -101,25 +240,14 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 1400, 500);
     }
 
-    private void careerTimelineChart(List<Film> films, String path) throws IOException {
+    private void careerTimelineChart(FilmTable films, YearHistogram years, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
-
-        Set<Integer> allYears = new TreeSet<>();
-        films.forEach(f -> allYears.add(f.getYear()));
-
-        for (String actor : byActor.keySet()) {
-            List<Film> actorFilms = byActor.get(actor).stream()
-                    .sorted((a, b) -> Integer.compare(a.getYear(), b.getYear()))
-                    .collect(Collectors.toList());
-            int cumulative = 0;
-            int filmIndex = 0;
-            for (Integer year : allYears) {
-                while (filmIndex < actorFilms.size() && actorFilms.get(filmIndex).getYear() <= year) {
-                    cumulative++;
-                    filmIndex++;
-                }
-                dataset.addValue(cumulative, actor, String.valueOf(year));
+        int[] allYears = years.years();
+
+        for (int actor : actorsPresent(films)) {
+            for (int year : allYears) {
+                int cumulative = years.count(actor, years.firstYear(), year);
+                dataset.addValue(cumulative, films.actorName(actor), String.valueOf(year));
             }
         }
 
@@ -130,23 +258,19 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 1400, 500);
     }
 
-    private void careerPhaseChart(List<Film> films, String path) throws IOException {
+    private void careerPhaseChart(FilmTable films, String path) throws IOException {
         // Generate separate pie charts for each actor
-        Map<String, List<Film>> byActor = films.stream()
-                .filter(f -> f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getActor));
+        long[][] byActorPhase = phaseCounts(films);
         
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            String actor = entry.getKey();
-            List<Film> actorFilms = entry.getValue();
+        for (int actorCode : films.actorCodesByName()) {
+            long[] counts = byActorPhase[actorCode];
+            if (counts == null) continue;
+            String actor = films.actorName(actorCode);
             
             DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
-            Map<String, Long> counts = actorFilms.stream()
-                    .collect(Collectors.groupingBy(Film::getCareerPhase, Collectors.counting()));
-            
-            dataset.setValue("Early (0-5 yrs)", counts.getOrDefault("Early", 0L));
-            dataset.setValue("Growth (6-15 yrs)", counts.getOrDefault("Growth", 0L));
-            dataset.setValue("Peak (16+ yrs)", counts.getOrDefault("Peak", 0L));
+            dataset.setValue("Early (0-5 yrs)", counts[0]);
+            dataset.setValue("Growth (6-15 yrs)", counts[1]);
+            dataset.setValue("Peak (16+ yrs)", counts[2]);
             
             String actorFileName = actor.toLowerCase().replace(" ", "_");
             String filePath = path.replace(".png", "_" + actorFileName + ".png");
@@ -158,26 +282,22 @@ public class ChartGenerator {
         }
     }
 
-    private void ageVsProductivity(List<Film> films, String path) throws IOException {
+    private void ageVsProductivity(FilmTable films, String path) throws IOException {
         // Create age bracket productivity chart instead of scatter
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
-
-        String[] brackets = {"10-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50+"};
-
-        for (String actor : byActor.keySet()) {
-            int birthYear = ActorMetadata.getBirthYear(actor);
-            Map<String, Long> bracketCounts = new TreeMap<>();
-            for (String b : brackets) bracketCounts.put(b, 0L);
-
-            for (Film film : byActor.get(actor)) {
-                int age = film.getYear() - birthYear;
-                String bracket = getAgeBracket(age);
-                bracketCounts.merge(bracket, 1L, Long::sum);
-            }
+        int[] actors = actorsPresent(films);
+        long[][] bracketCounts = new long[films.actorCount()][AGE_BRACKETS.length];
+        int[] birthYears = ActorMetadata.store().birthYears(films);
+
+        for (int row = 0; row < films.size(); row++) {
+            int actor = films.actorCode(row);
+            int age = films.year(row) - birthYears[actor];
+            bracketCounts[actor][getAgeBracket(age)]++;
+        }
 
-            for (String bracket : brackets) {
-                dataset.addValue(bracketCounts.get(bracket), actor, bracket);
+        for (int actor : actors) {
+            for (int bracket = 0; bracket < AGE_BRACKETS.length; bracket++) {
+                dataset.addValue(bracketCounts[actor][bracket], films.actorName(actor), AGE_BRACKETS[bracket]);
             }
         }
 
@@ -195,37 +315,28 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 900, 500);
     }
 
-    private String getAgeBracket(int age) {
-        if (age < 20) return "10-19";
-        if (age < 25) return "20-24";
-        if (age < 30) return "25-29";
-        if (age < 35) return "30-34";
-        if (age < 40) return "35-39";
-        if (age < 45) return "40-44";
-        if (age < 50) return "45-49";
-        return "50+";
+    private int getAgeBracket(int age) {
+        if (age < 20) return 0;
+        if (age >= 50) return AGE_BRACKETS.length - 1;
+        return (age - 15) / 5;
     }
 
-    private void ageVsProductivityBefore(List<Film> films, String path) throws IOException {
+    private void ageVsProductivityBefore(FilmTable films, String path) throws IOException {
         // Create age bracket productivity chart
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
-
-        String[] brackets = {"10-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50+"};
-
-        for (String actor : byActor.keySet()) {
-            int birthYear = ActorMetadata.getBirthYear(actor);
-            Map<String, Long> bracketCounts = new TreeMap<>();
-            for (String b : brackets) bracketCounts.put(b, 0L);
-
-            for (Film film : byActor.get(actor)) {
-                int age = film.getYear() - birthYear;
-                String bracket = getAgeBracket(age);
-                bracketCounts.merge(bracket, 1L, Long::sum);
-            }
+        int[] actors = actorsPresent(films);
+        long[][] bracketCounts = new long[films.actorCount()][AGE_BRACKETS.length];
+        int[] birthYears = ActorMetadata.store().birthYears(films);
+
+        for (int row = 0; row < films.size(); row++) {
+            int actor = films.actorCode(row);
+            int age = films.year(row) - birthYears[actor];
+            bracketCounts[actor][getAgeBracket(age)]++;
+        }
 
-            for (String bracket : brackets) {
-                dataset.addValue(bracketCounts.get(bracket), actor, bracket);
+        for (int actor : actors) {
+            for (int bracket = 0; bracket < AGE_BRACKETS.length; bracket++) {
+                dataset.addValue(bracketCounts[actor][bracket], films.actorName(actor), AGE_BRACKETS[bracket]);
             }
         }
 
@@ -243,21 +354,25 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 900, 500);
     }
 
-    private void ageCareerComparison(List<Film> films, String path) throws IOException {
+    private void ageCareerComparison(FilmTable films, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
+        int[] firstRow = new int[films.actorCount()];
+        Arrays.fill(firstRow, -1);
+        for (int row = films.size() - 1; row >= 0; row--) {
+            firstRow[films.actorCode(row)] = row;
+        }
 
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            String actor = entry.getKey();
-            Film any = entry.getValue().get(0);
-            if (any.getAgeAtDebut() != null) {
-                dataset.addValue(any.getAgeAtDebut(), "Debut Age", actor);
+        for (int actorCode : actorsPresent(films)) {
+            String actor = films.actorName(actorCode);
+            int any = firstRow[actorCode];
+            if (films.ageAtDebut(any) != FilmTable.NULL) {
+                dataset.addValue(films.ageAtDebut(any), "Debut Age", actor);
             }
-            if (any.getCurrentAge() != null) {
-                dataset.addValue(any.getCurrentAge(), "Current Age (2026)", actor);
+            if (films.currentAge(any) != FilmTable.NULL) {
+                dataset.addValue(films.currentAge(any), "Current Age (2026)", actor);
             }
-            if (any.getCareerSpan() != null) {
-                dataset.addValue(any.getCareerSpan(), "Career Span", actor);
+            if (films.careerSpan(any) != FilmTable.NULL) {
+                dataset.addValue(films.careerSpan(any), "Career Span", actor);
             }
         }
 
@@ -275,17 +390,22 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 700, 500);
     }
 
-    private void childVsLeadChart(List<Film> films, String path) throws IOException {
+    private void childVsLeadChart(FilmTable films, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
-
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            long child = entry.getValue().stream()
-                    .filter(f -> f.getNotes() != null && f.getNotes().toLowerCase().contains("child"))
-                    .count();
-            long lead = entry.getValue().size() - child;
-            dataset.addValue(child, "Child Roles", entry.getKey());
-            dataset.addValue(lead, "Lead/Adult Roles", entry.getKey());
+        long[] child = new long[films.actorCount()];
+        long[] total = new long[films.actorCount()];
+        for (int row = 0; row < films.size(); row++) {
+            int actor = films.actorCode(row);
+            total[actor]++;
+            String notes = films.notes(row);
+            if (notes != null && notes.toLowerCase().contains("child")) {
+                child[actor]++;
+            }
+        }
+
+        for (int actor : actorsPresent(films)) {
+            dataset.addValue(child[actor], "Child Roles", films.actorName(actor));
+            dataset.addValue(total[actor] - child[actor], "Lead/Adult Roles", films.actorName(actor));
         }
 
         JFreeChart chart = ChartFactory.createStackedBarChart(
@@ -301,19 +421,13 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 600, 450);
     }
 
-    private void fiveYearProductivity(List<Film> films, String path) throws IOException {
+    private void fiveYearProductivity(FilmTable films, YearHistogram years, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, Map<String, Long>> byActorPeriod = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(f -> getPeriod(f.getYear()), Collectors.counting())));
-
-        Set<String> periods = new TreeSet<>();
-        byActorPeriod.values().forEach(m -> periods.addAll(m.keySet()));
+        int[] actors = actorsPresent(films);
 
-        for (String period : periods) {
-            for (String actor : byActorPeriod.keySet()) {
-                long count = byActorPeriod.get(actor).getOrDefault(period, 0L);
-                dataset.addValue(count, actor, period);
+        for (int start : years.bucketStarts(5)) {
+            for (int actor : actors) {
+                dataset.addValue((long) years.bucketCount(actor, start, 5), films.actorName(actor), getPeriod(start));
             }
         }
 
@@ -328,19 +442,13 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 900, 500);
     }
 
-    private void decadeWiseChart(List<Film> films, String path) throws IOException {
+    private void decadeWiseChart(FilmTable films, YearHistogram years, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, Map<String, Long>> byActorDecade = films.stream()
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(f -> getDecade(f.getYear()), Collectors.counting())));
+        int[] actors = actorsPresent(films);
 
-        Set<String> decades = new TreeSet<>();
-        byActorDecade.values().forEach(m -> decades.addAll(m.keySet()));
-
-        for (String decade : decades) {
-            for (String actor : byActorDecade.keySet()) {
-                long count = byActorDecade.get(actor).getOrDefault(decade, 0L);
-                dataset.addValue(count, actor, decade);
+        for (int start : years.bucketStarts(10)) {
+            for (int actor : actors) {
+                dataset.addValue((long) years.bucketCount(actor, start, 10), films.actorName(actor), getDecade(start));
             }
         }
 
@@ -357,21 +465,19 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 800, 500);
     }
 
-    private void releaseGapChart(List<Film> films, String path) throws IOException {
+    private void releaseGapChart(FilmTable films, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, List<Film>> byActor = films.stream().collect(Collectors.groupingBy(Film::getActor));
+        int[][] rowsByActor = films.rowsByActor();
 
-        for (Map.Entry<String, List<Film>> entry : byActor.entrySet()) {
-            String actor = entry.getKey();
-            List<Film> sorted = entry.getValue().stream()
-                    .sorted((a, b) -> Integer.compare(a.getYear(), b.getYear()))
-                    .collect(Collectors.toList());
+        for (int actorCode : actorsPresent(films)) {
+            String actor = films.actorName(actorCode);
+            int[] sorted = rowsByActor[actorCode];
 
             int maxGap = 0;
             double avgGap = 0;
             int gapCount = 0;
-            for (int i = 1; i < sorted.size(); i++) {
-                int gap = sorted.get(i).getYear() - sorted.get(i - 1).getYear();
+            for (int i = 1; i < sorted.length; i++) {
+                int gap = films.year(sorted[i]) - films.year(sorted[i - 1]);
                 if (gap > maxGap) maxGap = gap;
                 if (gap > 0) {
                     avgGap += gap;
@@ -397,16 +503,36 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 600, 450);
     }
 
-    private String getPeriod(int year) {
-        int start = (year / 5) * 5;
+    private String getPeriod(int start) {
         return start + "-" + (start + 4);
     }
 
-    private String getDecade(int year) {
-        int start = (year / 10) * 10;
+    private String getDecade(int start) {
         return start + "s";
     }
 
+    private long[][] phaseCounts(FilmTable films) {
+        long[][] byActorPhase = new long[films.actorCount()][];
+        for (int row = 0; row < films.size(); row++) {
+            int phase = films.phaseCode(row);
+            if (phase < 0) continue;
+            int actor = films.actorCode(row);
+            if (byActorPhase[actor] == null) {
+                byActorPhase[actor] = new long[FilmTable.PHASES.length];
+            }
+            byActorPhase[actor][phase]++;
+        }
+        return byActorPhase;
+    }
+
+    private int[] actorsPresent(FilmTable films) {
+        boolean[] present = new boolean[films.actorCount()];
+        for (int row = 0; row < films.size(); row++) {
+            present[films.actorCode(row)] = true;
+        }
+        return Arrays.stream(films.actorCodesByName()).filter(actor -> present[actor]).toArray();
+    }
+
     private void styleChartBase(JFreeChart chart) {
         chart.setBackgroundPaint(Color.WHITE);
         chart.setPadding(new RectangleInsets(15, 15, 15, 15));
@@ -511,21 +637,15 @@ public class ChartGenerator {
         rangeAxis.setStandardTickUnits(NumberAxis.createIntegerTickUnits());
     }
 
-    private void careerPhaseByActorChart(List<Film> films, String path) throws IOException {
+    private void careerPhaseByActorChart(FilmTable films, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         
-        Map<String, Map<String, Long>> byActorPhase = films.stream()
-                .filter(f -> f.getCareerPhase() != null)
-                .collect(Collectors.groupingBy(Film::getActor,
-                        Collectors.groupingBy(Film::getCareerPhase, Collectors.counting())));
-        
-        String[] phases = {"Early", "Growth", "Peak"};
-        Set<String> actors = byActorPhase.keySet();
+        long[][] byActorPhase = phaseCounts(films);
         
-        for (String phase : phases) {
-            for (String actor : actors) {
-                long count = byActorPhase.get(actor).getOrDefault(phase, 0L);
-                dataset.addValue(count, actor, phase);
+        for (int phase = 0; phase < FilmTable.PHASES.length; phase++) {
+            for (int actor : films.actorCodesByName()) {
+                if (byActorPhase[actor] == null) continue;
+                dataset.addValue(byActorPhase[actor][phase], films.actorName(actor), FilmTable.PHASES[phase]);
             }
         }
 
@@ -543,35 +663,33 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 700, 500);
     }
 
-    private void productivityTrendChart(List<Film> films, String path) throws IOException {
+    private void productivityTrendChart(FilmTable films, String path) throws IOException {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         
         // Group by actor and 5-year age bracket using birth year calculation
-        Map<String, Map<String, Integer>> ageFilmCount = new HashMap<>();
+        int[][] ageFilmCount = new int[films.actorCount()][];
+        int[] birthYears = ActorMetadata.store().birthYears(films);
         
-        for (Film film : films) {
-            String actor = film.getActor();
-            int birthYear = ActorMetadata.getBirthYear(actor);
+        for (int row = 0; row < films.size(); row++) {
+            int actor = films.actorCode(row);
+            int birthYear = birthYears[actor];
             if (birthYear == 0) continue;
             
-            int age = film.getYear() - birthYear;
+            int age = films.year(row) - birthYear;
             if (age <= 0) continue;
             
-            String ageGroup = getAgeBracket5Year(age);
-            ageFilmCount.computeIfAbsent(actor, k -> new HashMap<>())
-                    .merge(ageGroup, 1, Integer::sum);
+            if (ageFilmCount[actor] == null) {
+                ageFilmCount[actor] = new int[AGE_GROUPS_5_YEAR.length];
+            }
+            ageFilmCount[actor][getAgeBracket5Year(age)]++;
         }
         
-        String[] ageGroups = {"15-19", "20-24", "25-29", "30-34", "35-39", "40-44", "45-49", "50-54"};
-        
-        // Get actual actor names from the data
-        Set<String> actors = ageFilmCount.keySet();
-        
-        for (String ageGroup : ageGroups) {
-            for (String actor : actors) {
-                int count = ageFilmCount.get(actor).getOrDefault(ageGroup, 0);
-                double avgPerYear = count / 5.0; // 5-year bracket
-                dataset.addValue(avgPerYear, actor, ageGroup);
+        // Skip the 10-14 group, the chart starts at 15
+        for (int ageGroup = 1; ageGroup < AGE_GROUPS_5_YEAR.length; ageGroup++) {
+            for (int actor : films.actorCodesByName()) {
+                if (ageFilmCount[actor] == null) continue;
+                double avgPerYear = ageFilmCount[actor][ageGroup] / 5.0; // 5-year bracket
+                dataset.addValue(avgPerYear, films.actorName(actor), AGE_GROUPS_5_YEAR[ageGroup]);
             }
         }
 
@@ -593,15 +711,9 @@ public class ChartGenerator {
         ChartUtils.saveChartAsPNG(new File(path), chart, 900, 500);
     }
     
-    private String getAgeBracket5Year(int age) {
-        if (age < 15) return "10-14";
-        if (age < 20) return "15-19";
-        if (age < 25) return "20-24";
-        if (age < 30) return "25-29";
-        if (age < 35) return "30-34";
-        if (age < 40) return "35-39";
-        if (age < 45) return "40-44";
-        if (age < 50) return "45-49";
-        return "50-54";
+    private int getAgeBracket5Year(int age) {
+        if (age < 15) return 0;
+        if (age >= 50) return AGE_GROUPS_5_YEAR.length - 1;
+        return (age - 10) / 5;
     }
 }
@@ -0,0 +1,43 @@
+package com.filmography.io;
+
+import com.filmography.model.FilmTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DirectoryIngestTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergesFilesByActorAndYear() throws IOException {
+        SyntheticFilmography films = new SyntheticFilmography(9, 5, 80, 1.0);
+        films.writeDirectory(dir.toString());
+
+        List<String[]> expected = new ArrayList<>();
+        films.rows((actor, year, film, role, notes) ->
+                expected.add(new String[]{actor, Integer.toString(year), film, role, notes}));
+        expected.sort(Comparator.comparing((String[] row) -> row[0]).thenComparingInt(row -> Integer.parseInt(row[1])));
+
+        for (CsvReader reader : new CsvReader[]{new CsvReader(), new MappedCsvReader()}) {
+            FilmTable table = new DirectoryIngest(reader, 3).ingest(dir.toString());
+            assertEquals(expected.size(), table.size());
+            for (int row = 0; row < table.size(); row++) {
+                String[] want = expected.get(row);
+                String[] got = {table.actor(row), Integer.toString(table.year(row)), table.film(row),
+                        table.role(row), table.notes(row)};
+                for (int column = 0; column < want.length; column++) {
+                    assertEquals(want[column], got[column], "row " + row + " column " + column);
+                }
+            }
+        }
+    }
+}
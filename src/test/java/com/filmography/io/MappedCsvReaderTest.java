@@ -0,0 +1,136 @@
+package com.filmography.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCsvReaderTest {
+    private static final String HEADER = "Year,Film,Role,Notes,Ref\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotedCommasAndNewlines() throws IOException {
+        assertParity(HEADER
+                + "2001,\"Dheena, Part 1\",Dheena,\"Remake\nof a Telugu film\",[1]\n"
+                + "2002,\"Villain\",\"Shiva, Vishnu\",\"\",[2]\n"
+                + "2003,Anjaneya,\"He said \"\"no\"\"\",Notes,[3]\n");
+    }
+
+    @Test
+    void lineEndings() throws IOException {
+        assertParity("Year,Film,Role,Notes\r\n"
+                + "2001,Dheena,Dheena,\"Two\r\nlines\"\r\n"
+                + "2002,Red,Red,Lone CR\r"
+                + "2003,Villain,Shiva,Last line without a terminator");
+    }
+
+    @Test
+    void byteOrderMark() throws IOException {
+        Path path = write("\uFEFF" + HEADER + "2001,Aśoka,Susima,Hindi film,[50]\n");
+        List<String> rows = rows(new CsvReader(), path);
+        assertEquals(List.of("2001|Aśoka|Susima|Hindi film"), rows);
+        assertEquals(rows, rows(new MappedCsvReader(), path));
+    }
+
+    @Test
+    void backslashEscapesAndEmbeddedQuotes() throws IOException {
+        assertParity(HEADER
+                + "2001,a\\b,c\\,d,\"x\\\"y\",[1]\n"
+                + "2002,a\"b\"c,\"a\"b, \"lead\",[2]\n"
+                + "2003,\"trailing\" ,tail\\,\"\\\\\",[3]\n");
+    }
+
+    @Test
+    void yearCells() throws IOException {
+        assertParity(HEADER + " 2001 ,a,b,c\n+2002,a,b,c\n,a,b,c\n20x3,a,b,c\n99999999999,a,b,c\n௨௦௦௪,a,b,c\n");
+    }
+
+    @Test
+    void unterminatedQuoteFailsInBoth() throws IOException {
+        Path path = write(HEADER + "2001,\"Dheena,Dheena,Notes,[1]\n2002,Red,Red,,\n");
+        assertThrows(IOException.class, () -> rows(new CsvReader(), path));
+        assertThrows(IOException.class, () -> rows(new MappedCsvReader(), path));
+        assertThrows(IOException.class, () -> rows(new MappedCsvReader(64), path));
+    }
+
+    @Test
+    void rowsSpanningMappingWindows() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            csv.append(2000 + i % 25).append(",\"Film ").append(i).append(", part\r\n").append(i % 3)
+                    .append("\",Role ").append(i).append(i % 2 == 0 ? ",Notes\r\n" : ",\"Quoted \"\"notes\"\"\",[1]\r");
+        }
+        Path path = write(csv.toString());
+        List<String> expected = rows(new CsvReader(), path);
+        assertEquals(200, expected.size());
+        for (int window : new int[] {72, 97, 128, 1 << 20}) {
+            assertEquals(expected, rows(new MappedCsvReader(window), path), "window " + window);
+        }
+    }
+
+    @Test
+    void rowLargerThanWindowFails() throws IOException {
+        Path path = write(HEADER + "2001," + "x".repeat(200) + ",Role,Notes\n");
+        assertThrows(IOException.class, () -> rows(new MappedCsvReader(64), path));
+    }
+
+    @Test
+    void randomInputsMatch() throws IOException {
+        String[] atoms = {"2001", " 1999 ", "a", " ", ",", "\"", "\"\"", "\\", "\n", "\r\n", "\r", "é", "𝄞", "\u2003",
+                "\n2003,", "\n2010,a,\"b,\nc\",d"};
+        Random random = new Random(42);
+        int delivered = 0;
+        for (int run = 0; run < 2000; run++) {
+            StringBuilder csv = new StringBuilder(random.nextInt(4) == 0 ? "\uFEFF" : "").append(HEADER);
+            for (int i = random.nextInt(40); i > 0; i--) {
+                csv.append(atoms[random.nextInt(atoms.length)]);
+            }
+            Path path = write(csv.toString());
+            List<String> expected;
+            try {
+                expected = rows(new CsvReader(), path);
+            } catch (IOException ex) {
+                assertThrows(IOException.class, () -> rows(new MappedCsvReader(), path), csv::toString);
+                continue;
+            }
+            delivered += expected.size();
+            assertEquals(expected, rows(new MappedCsvReader(), path), csv::toString);
+        }
+        assertTrue(delivered > 0);
+    }
+
+    private void assertParity(String csv) throws IOException {
+        Path path = write(csv);
+        List<String> expected = rows(new CsvReader(), path);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, rows(new MappedCsvReader(), path));
+        assertEquals(expected, rows(new MappedCsvReader(64), path));
+    }
+
+    private Path write(String csv) throws IOException {
+        Path path = dir.resolve("films.csv");
+        Files.write(path, csv.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static List<String> rows(CsvReader reader, Path path) throws IOException {
+        List<String> rows = new ArrayList<>();
+        reader.stream(path.toString(), "Ajith", (actor, year, film, role, notes) ->
+                rows.add(year + "|" + film + "|" + role + "|" + notes));
+        return rows;
+    }
+}
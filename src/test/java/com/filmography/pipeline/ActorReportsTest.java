@@ -0,0 +1,61 @@
+package com.filmography.pipeline;
+
+import com.filmography.io.SyntheticFilmography;
+import com.filmography.model.FilmTable;
+import com.filmography.processing.DataCleaner;
+import com.filmography.processing.FeatureEngineer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActorReportsTest {
+    private static final Pattern IMAGE = Pattern.compile("!\\[[^]]*]\\(([^)]+)\\)");
+
+    @TempDir
+    Path outputDir;
+
+    @BeforeAll
+    static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @Test
+    void everyChartLinkResolves() throws IOException {
+        SyntheticFilmography films = new SyntheticFilmography(7, 2, 60, 0);
+        FilmTable.Builder builder = new FilmTable.Builder();
+        films.rows(builder::add);
+        FilmTable raw = builder.build();
+        FilmTable processed = new DataCleaner().clean(raw);
+        new FeatureEngineer().engineer(processed);
+
+        List<String> actors = List.of(films.actorName(0), films.actorName(1));
+        ActorReports.Summary summary = new ActorReports(outputDir.toString(), 2, 4).run(actors, raw, processed, "k");
+        assertEquals(2, summary.getGenerated());
+
+        int links = 0;
+        for (String actor : actors) {
+            Path reports = outputDir.resolve(ActorReports.directoryName(actor)).resolve("reports");
+            for (String report : List.of("before_analysis.md", "after_analysis.md")) {
+                Path file = reports.resolve(report);
+                Matcher image = IMAGE.matcher(Files.readString(file, StandardCharsets.UTF_8));
+                while (image.find()) {
+                    Path target = reports.resolve(image.group(1)).normalize();
+                    assertTrue(Files.isRegularFile(target), file + " links to missing " + image.group(1));
+                    links++;
+                }
+            }
+        }
+        assertTrue(links > 0, "reports should link charts");
+    }
+}
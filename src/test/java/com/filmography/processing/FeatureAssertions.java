@@ -0,0 +1,40 @@
+package com.filmography.processing;
+
+import com.filmography.model.FilmTable;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class FeatureAssertions {
+
+    private FeatureAssertions() {
+    }
+
+    /** Every engineered column of every row is equal in both tables. */
+    static void assertSameFeatures(FilmTable expected, FilmTable actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            int r = row;
+            assertColumn("engineered", r, expected::isEngineered, actual::isEngineered);
+            assertColumn("debut_year", r, expected::debutYear, actual::debutYear);
+            assertColumn("lead_debut_year", r, expected::leadDebutYear, actual::leadDebutYear);
+            assertColumn("career_span", r, expected::careerSpan, actual::careerSpan);
+            assertColumn("career_phase", r, expected::phaseCode, actual::phaseCode);
+            assertColumn("cumulative_movies", r, expected::cumulativeMovies, actual::cumulativeMovies);
+            assertColumn("movies_per_year", r, expected::moviesPerYear, actual::moviesPerYear);
+            assertColumn("release_gap", r, expected::releaseGap, actual::releaseGap);
+            assertColumn("age_at_film", r, expected::ageAtFilm, actual::ageAtFilm);
+            assertColumn("age_at_debut", r, expected::ageAtDebut, actual::ageAtDebut);
+            assertColumn("current_age", r, expected::currentAge, actual::currentAge);
+            assertColumn("is_high_productivity", r, expected::isHighProductivity, actual::isHighProductivity);
+            assertColumn("is_special", r, expected::isSpecial, actual::isSpecial);
+            assertColumn("is_child_role", r, expected::isChildRole, actual::isChildRole);
+            assertColumn("is_upcoming", r, expected::isUpcoming, actual::isUpcoming);
+        }
+    }
+
+    private static void assertColumn(String column, int row, IntFunction<Object> expected, IntFunction<Object> actual) {
+        assertEquals(expected.apply(row), actual.apply(row), column + " differs on row " + row);
+    }
+}
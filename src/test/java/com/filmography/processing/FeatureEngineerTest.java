@@ -0,0 +1,107 @@
+package com.filmography.processing;
+
+import com.filmography.io.SyntheticFilmography;
+import com.filmography.model.ActorMetadata;
+import com.filmography.model.ActorMetadataSource;
+import com.filmography.model.ActorMetadataStore;
+import com.filmography.model.FilmTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.filmography.processing.FeatureAssertions.assertSameFeatures;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeatureEngineerTest {
+
+    @AfterEach
+    void restoreMetadata() {
+        ActorMetadata.use(null);
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        SyntheticFilmography films = new SyntheticFilmography(42, 40, 500, 1.2);
+        assertTrue(films.filmCount(0) > FeatureEngineer.ROWS_PER_TASK,
+                "the first actor must be split into row ranges");
+        assertParallelMatchesSequential(films);
+    }
+
+    /** One actor larger than a task, so the pool starts straight on its row ranges. */
+    @Test
+    void parallelMatchesSequentialForOneActor() {
+        assertParallelMatchesSequential(new SyntheticFilmography(7, 1, 3 * FeatureEngineer.ROWS_PER_TASK, 0));
+    }
+
+    /** A backend that is not a store gives the same features through the interface's defaults. */
+    @Test
+    void otherMetadataSourceMatchesStore() {
+        SyntheticFilmography films = new SyntheticFilmography(3, 6, 120, 0.5);
+        ActorMetadataStore store = films.metadata();
+        ActorMetadata.use(store);
+        FilmTable expected = table(films);
+        new FeatureEngineer().engineer(expected);
+
+        ActorMetadata.use(new ActorMetadataSource() {
+            @Override
+            public int id(String actor) {
+                return store.id(actor);
+            }
+
+            @Override
+            public String fullName(int id) {
+                return store.fullName(id);
+            }
+
+            @Override
+            public LocalDate birthDate(int id) {
+                return store.birthDate(id);
+            }
+
+            @Override
+            public int birthYear(int id) {
+                return store.birthYear(id);
+            }
+
+            @Override
+            public List<String> actors() {
+                return store.actors();
+            }
+        });
+        FilmTable table = table(films);
+        new FeatureEngineer().engineer(table);
+        assertSameFeatures(expected, table);
+        assertArrayEquals(store.currentAges(table), ActorMetadata.store().currentAges(table));
+    }
+
+    private static void assertParallelMatchesSequential(SyntheticFilmography films) {
+        ActorMetadata.use(films.metadata());
+
+        FilmTable sequential = table(films);
+        assertTrue(sequential.size() > FeatureEngineer.ROWS_PER_TASK, "the table must span several row tasks");
+        new FeatureEngineer().engineer(sequential);
+        FilmTable parallel = table(films);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new FeatureEngineer(pool).engineer(parallel);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int row = 0; row < sequential.size(); row++) {
+            assertNotEquals(FilmTable.NULL, sequential.ageAtFilm(row), "every actor has a birth year");
+        }
+        assertSameFeatures(sequential, parallel);
+    }
+
+    private static FilmTable table(SyntheticFilmography films) {
+        FilmTable.Builder builder = new FilmTable.Builder((int) films.totalFilms());
+        films.rows(builder::add);
+        return builder.build();
+    }
+}
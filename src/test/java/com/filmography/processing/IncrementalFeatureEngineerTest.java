@@ -0,0 +1,125 @@
+package com.filmography.processing;
+
+import com.filmography.io.SyntheticFilmography;
+import com.filmography.model.FilmTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.filmography.processing.FeatureAssertions.assertSameFeatures;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalFeatureEngineerTest {
+
+    @Test
+    void appendedRowsMatchFullRun() {
+        List<Row> rows = rows(new SyntheticFilmography(11, 6, 300, 0.8));
+        Random random = new Random(5);
+        List<Row> kept = new ArrayList<>();
+        List<Row> appended = new ArrayList<>();
+        for (Row row : rows) {
+            boolean lastActor = row.actor.equals("Actor 0006");
+            (lastActor || random.nextInt(10) == 0 ? appended : kept).add(row);
+        }
+
+        FilmTable previous = engineered(kept);
+        List<Row> all = new ArrayList<>(kept);
+        all.addAll(appended);
+        FilmTable expected = engineered(all);
+
+        FilmTable incremental = cleaned(all);
+        int recomputed = new IncrementalFeatureEngineer().engineer(previous, incremental);
+        assertTrue(recomputed >= appended.size() && recomputed < all.size(), "recomputed " + recomputed);
+        assertSameFeatures(expected, incremental);
+    }
+
+    @Test
+    void recomputesFromTheFirstAppendedYear() {
+        List<Row> kept = rows(new SyntheticFilmography(3, 2, 200, 0));
+        List<Row> all = new ArrayList<>(kept);
+        all.add(new Row("Ajith", 2026, "Appended", "Lead", null));
+        all.add(new Row("Ajith", 2030, "Appended later", "Lead", null));
+
+        FilmTable incremental = cleaned(all);
+        int recomputed = new IncrementalFeatureEngineer().engineer(engineered(kept), incremental);
+        assertSameFeatures(engineered(all), incremental);
+        int fromYear = 0;
+        for (Row row : kept) {
+            if (row.actor.equals("Ajith") && row.year >= 2026) {
+                fromYear++;
+            }
+        }
+        assertEquals(fromYear + 2, recomputed);
+    }
+
+    @Test
+    void earlierDebutRecomputesTheActor() {
+        List<Row> kept = rows(new SyntheticFilmography(3, 2, 200, 0));
+        List<Row> all = new ArrayList<>(kept);
+        all.add(new Row("Vijay", 1900, "Before the debut", "Lead", null));
+
+        FilmTable incremental = cleaned(all);
+        new IncrementalFeatureEngineer().engineer(engineered(kept), incremental);
+        assertSameFeatures(engineered(all), incremental);
+    }
+
+    @Test
+    void changedRowsAreNotAnAppend() {
+        List<Row> kept = rows(new SyntheticFilmography(3, 2, 200, 0));
+        List<Row> changed = new ArrayList<>(kept);
+        Row first = changed.get(0);
+        changed.set(0, new Row(first.actor, first.year, first.film + " (restored)", first.role, first.notes));
+
+        FilmTable table = cleaned(changed);
+        assertEquals(-1, new IncrementalFeatureEngineer().engineer(engineered(kept), table));
+        assertFalse(table.isEngineered(0));
+
+        List<Row> dropped = new ArrayList<>();
+        for (Row row : kept) {
+            if (!row.actor.equals("Vijay")) {
+                dropped.add(row);
+            }
+        }
+        assertEquals(-1, new IncrementalFeatureEngineer().engineer(engineered(kept), cleaned(dropped)));
+    }
+
+    private static List<Row> rows(SyntheticFilmography films) {
+        List<Row> rows = new ArrayList<>();
+        films.rows((actor, year, film, role, notes) -> rows.add(new Row(actor, year, film, role, notes)));
+        return rows;
+    }
+
+    private static FilmTable cleaned(List<Row> rows) {
+        FilmTable.Builder builder = new FilmTable.Builder(rows.size());
+        for (Row row : rows) {
+            builder.add(row.actor, row.year, row.film, row.role, row.notes);
+        }
+        return new DataCleaner().clean(builder.build());
+    }
+
+    private static FilmTable engineered(List<Row> rows) {
+        FilmTable table = cleaned(rows);
+        new FeatureEngineer().engineer(table);
+        return table;
+    }
+
+    private static final class Row {
+        private final String actor;
+        private final int year;
+        private final String film;
+        private final String role;
+        private final String notes;
+
+        private Row(String actor, int year, String film, String role, String notes) {
+            this.actor = actor;
+            this.year = year;
+            this.film = film;
+            this.role = role;
+            this.notes = notes;
+        }
+    }
+}